@@ -0,0 +1,154 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Akl-Toussaint heuristic: the extreme points in eight directions span a
+ * polygon inside the hull, and every point strictly inside that polygon can be
+ * dropped before the real hull algorithm runs.
+ */
+public class AklToussaintFilter {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK = 1 << 14;
+
+    // Directions in counterclockwise order, so the extremes come out as a convex polygon.
+    private static final double[] DIRECTION_X = { 1, 1, 0, -1, -1, -1, 0, 1 };
+    private static final double[] DIRECTION_Y = { 0, 1, 1, 1, 0, -1, -1, -1 };
+
+    private int lastEliminated;
+
+    public int[] filter(double[] xs, double[] ys) {
+        int n = xs.length;
+        lastEliminated = 0;
+        if (n < 4) {
+            return PointArrays.identity(n);
+        }
+
+        boolean parallel = n >= PARALLEL_THRESHOLD;
+        int[] polygon = polygon(xs, ys, extremes(xs, ys, parallel));
+        if (polygon.length < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        int[] counts = new int[chunks];
+        boolean[] keep = new boolean[n];
+        IntStream chunkStream = IntStream.range(0, chunks);
+        (parallel ? chunkStream.parallel() : chunkStream).forEach(chunk -> {
+            int from = chunk * CHUNK;
+            int to = Math.min(n, from + CHUNK);
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (!isStrictlyInside(xs, ys, polygon, i)) {
+                    keep[i] = true;
+                    count++;
+                }
+            }
+            counts[chunk] = count;
+        });
+
+        int[] offsets = new int[chunks];
+        int total = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            offsets[chunk] = total;
+            total += counts[chunk];
+        }
+
+        int[] kept = new int[total];
+        chunkStream = IntStream.range(0, chunks);
+        (parallel ? chunkStream.parallel() : chunkStream).forEach(chunk -> {
+            int from = chunk * CHUNK;
+            int to = Math.min(n, from + CHUNK);
+            int k = offsets[chunk];
+            for (int i = from; i < to; i++) {
+                if (keep[i]) {
+                    kept[k++] = i;
+                }
+            }
+        });
+
+        lastEliminated = n - total;
+        return kept;
+    }
+
+    public int getLastEliminated() {
+        return lastEliminated;
+    }
+
+    private int[] extremes(double[] xs, double[] ys, boolean parallel) {
+        int n = xs.length;
+        if (!parallel) {
+            return extremes(xs, ys, 0, n);
+        }
+
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        int[][] partial = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK;
+            partial[chunk] = extremes(xs, ys, from, Math.min(n, from + CHUNK));
+        });
+
+        int[] best = partial[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                int candidate = partial[chunk][d];
+                if (score(xs, ys, d, candidate) > score(xs, ys, d, best[d])) {
+                    best[d] = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int[] extremes(double[] xs, double[] ys, int from, int to) {
+        int[] best = new int[DIRECTION_X.length];
+        double[] bestScore = new double[DIRECTION_X.length];
+        Arrays.fill(best, from);
+        for (int d = 0; d < DIRECTION_X.length; d++) {
+            bestScore[d] = score(xs, ys, d, from);
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            for (int d = 0; d < DIRECTION_X.length; d++) {
+                double score = score(xs, ys, d, i);
+                if (score > bestScore[d]) {
+                    bestScore[d] = score;
+                    best[d] = i;
+                }
+            }
+        }
+        return best;
+    }
+
+    private double score(double[] xs, double[] ys, int direction, int point) {
+        return DIRECTION_X[direction] * xs[point] + DIRECTION_Y[direction] * ys[point];
+    }
+
+    private int[] polygon(double[] xs, double[] ys, int[] extremes) {
+        int[] polygon = new int[extremes.length];
+        int size = 0;
+        for (int point : extremes) {
+            if (size == 0 || !samePoint(xs, ys, polygon[size - 1], point)) {
+                polygon[size++] = point;
+            }
+        }
+        while (size > 1 && samePoint(xs, ys, polygon[size - 1], polygon[0])) {
+            size--;
+        }
+        return Arrays.copyOf(polygon, size);
+    }
+
+    private boolean samePoint(double[] xs, double[] ys, int a, int b) {
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    private boolean isStrictlyInside(double[] xs, double[] ys, int[] polygon, int point) {
+        int previous = polygon[polygon.length - 1];
+        for (int vertex : polygon) {
+            if (Orientation.orient(xs, ys, previous, vertex, point) <= 0) {
+                return false;
+            }
+            previous = vertex;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("geometry.AlgorithmPhase")
+@Label("Algorithm Phase")
+@Category("Geometric Algorithms")
+@Description("One timed phase of a hull or intersection algorithm, or a page repaint")
+public class AlgorithmPhaseEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Point Count")
+    int pointCount;
+
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,84 @@
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs algorithm requests off the Event Dispatch Thread. A new request
+ * supersedes the one in flight: the old task is interrupted and its result, if
+ * it still arrives, is dropped. All methods and callbacks run on the EDT.
+ */
+public class AlgorithmWorker {
+
+    public interface ResultHandler<T> {
+        void accept(T result, long elapsedNanos);
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "algorithm-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Consumer<Boolean> busyListener;
+    private Future<?> current;
+    private long generation;
+
+    public AlgorithmWorker(Consumer<Boolean> busyListener) {
+        this.busyListener = busyListener;
+    }
+
+    public <T> void submit(Callable<T> task, ResultHandler<T> handler) {
+        cancelCurrent();
+        long id = ++generation;
+        busyListener.accept(true);
+
+        current = executor.submit(() -> {
+            try {
+                long startTime = System.nanoTime();
+                T result = task.call();
+                long elapsed = System.nanoTime() - startTime;
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(id)) {
+                        handler.accept(result, elapsed);
+                    }
+                });
+            } catch (CancellationException | InterruptedException e) {
+                // Superseded by a newer request.
+            } catch (Exception e) {
+                e.printStackTrace();
+                SwingUtilities.invokeLater(() -> finish(id));
+            }
+        });
+    }
+
+    public void cancel() {
+        cancelCurrent();
+        generation++;
+        busyListener.accept(false);
+    }
+
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private boolean finish(long id) {
+        if (id != generation) {
+            return false;
+        }
+        current = null;
+        busyListener.accept(false);
+        return true;
+    }
+
+    private void cancelCurrent() {
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands writes to a background thread that passes them to a delegate sink in
+ * batches. Since a write replaces its target, a pending write that is
+ * superseded before the thread gets to it is dropped.
+ */
+public class AsyncResultSink implements ResultSink {
+    private final ResultSink delegate;
+    private final Map<String, Runnable> pending = new LinkedHashMap<>();
+    private final Thread thread;
+    private boolean writing;
+    private boolean closed;
+
+    public AsyncResultSink(ResultSink delegate) {
+        this.delegate = delegate;
+        thread = new Thread(this::drain, "result-sink");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public <T> void write(String target, List<T> records, RecordFormat<T> format) {
+        synchronized (pending) {
+            if (closed) {
+                throw new IllegalStateException("Result sink is closed");
+            }
+            pending.remove(target);
+            pending.put(target, () -> delegate.write(target, records, format));
+            pending.notifyAll();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<Runnable> batch;
+            synchronized (pending) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                writing = true;
+            }
+            for (Runnable write : batch) {
+                try {
+                    write.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+            synchronized (pending) {
+                writing = false;
+                pending.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (pending) {
+            while (!pending.isEmpty() || writing) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        synchronized (pending) {
+            closed = true;
+            pending.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+}
@@ -0,0 +1,337 @@
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Headless entry point: runs one algorithm over every point or segment file in
+ * a directory. Reading, computing and writing run on separate threads joined by
+ * bounded queues, so the next file is loaded and the previous result written
+ * while the current one is computed.
+ *
+ * <pre>java -Djava.awt.headless=true BatchRunner [algorithm] &lt;input dir&gt; &lt;output dir&gt; [queue capacity]</pre>
+ *
+ * Without an algorithm, or with {@code default}, the hulls are computed with
+ * {@link ConvexHullAlgorithm#defaultAlgorithm()}.
+ *
+ * Inputs are binary {@link PointFile}s (*.geop) or text files (*.txt) in the
+ * format the algorithms write; each result is written in the format of its input.
+ * A file that fails at any stage, even with an {@link Error} such as running
+ * out of memory, is reported as failed and the run carries on with the next.
+ */
+public class BatchRunner {
+    private static final Map<String, Supplier<ConvexHullAlgorithm>> HULL_ALGORITHMS = new LinkedHashMap<>();
+    private static final Map<String, Supplier<LineIntersectionAlgorithm>> INTERSECTION_ALGORITHMS = new LinkedHashMap<>();
+
+    static {
+        HULL_ALGORITHMS.put("default", ConvexHullAlgorithm::defaultAlgorithm);
+        HULL_ALGORITHMS.put("brute-force", BruteForceConvexHull::new);
+        HULL_ALGORITHMS.put("graham-scan", GrahamScanConvexHull::new);
+        HULL_ALGORITHMS.put("jarvis-march", JarvisMarchConvexHull::new);
+        HULL_ALGORITHMS.put("quickhull", QuickHullConvexHull::new);
+        HULL_ALGORITHMS.put("parallel-quickhull", () -> new QuickHullConvexHull(true));
+        HULL_ALGORITHMS.put("monotone-chain", MonotoneChainConvexHull::new);
+        HULL_ALGORITHMS.put("integer-monotone-chain", IntegerConvexHull::new);
+        HULL_ALGORITHMS.put("chan", ChanConvexHull::new);
+        HULL_ALGORITHMS.put("divide-conquer", DivideConquerConvexHull::new);
+
+        INTERSECTION_ALGORITHMS.put("algebraic", AlgebraicLineIntersection::new);
+        INTERSECTION_ALGORITHMS.put("ccw", CCWLineIntersection::new);
+        INTERSECTION_ALGORITHMS.put("parallel-ccw", () -> new CCWLineIntersection(true));
+        INTERSECTION_ALGORITHMS.put("vectors", VectorLineIntersection::new);
+        INTERSECTION_ALGORITHMS.put("sweep-line", BentleyOttmannLineIntersection::new);
+        INTERSECTION_ALGORITHMS.put("grid", GridLineIntersection::new);
+    }
+
+    private static final Job END = new Job(null);
+
+    /**
+     * One input on its way through the stages. Once written, only the counts,
+     * timings and error are kept for the summary.
+     */
+    private static final class Job {
+        final Path input;
+        PointFile data;
+        double[][] result;
+        Throwable error;
+        int inputSize, outputSize;
+        long readNanos, computeNanos, writeNanos;
+
+        Job(Path input) {
+            this.input = input;
+        }
+    }
+
+    private final ConvexHullAlgorithm hullAlgorithm;
+    private final LineIntersectionAlgorithm intersectionAlgorithm;
+    private final Path outputDirectory;
+    private final BlockingQueue<Job> loaded;
+    private final BlockingQueue<Job> computed;
+    private final List<Job> finished = new ArrayList<>();
+
+    public BatchRunner(String algorithm, Path outputDirectory, int queueCapacity) {
+        String key = algorithm.startsWith("filtered-") ? algorithm.substring("filtered-".length()) : algorithm;
+        if (HULL_ALGORITHMS.containsKey(key)) {
+            ConvexHullAlgorithm hull = HULL_ALGORITHMS.get(key).get();
+            hullAlgorithm = key.equals(algorithm) ? hull : new PreFilteredConvexHull(hull);
+            intersectionAlgorithm = null;
+        } else if (key.equals(algorithm) && INTERSECTION_ALGORITHMS.containsKey(key)) {
+            hullAlgorithm = null;
+            intersectionAlgorithm = INTERSECTION_ALGORITHMS.get(key).get();
+        } else {
+            throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        this.outputDirectory = outputDirectory;
+        loaded = new ArrayBlockingQueue<>(queueCapacity);
+        computed = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public String getAlgorithmName() {
+        return hullAlgorithm != null ? hullAlgorithm.getAlgorithmName() : intersectionAlgorithm.getAlgorithmName();
+    }
+
+    /**
+     * Processes every input and returns the number that failed. Per-file lines
+     * are printed as each result is written, the aggregate once all are done.
+     */
+    public int run(List<Path> inputs) throws InterruptedException {
+        long startTime = System.nanoTime();
+        Thread reader = new Thread(() -> read(inputs), "batch-read");
+        Thread writer = new Thread(this::write, "batch-write");
+        reader.start();
+        writer.start();
+        compute();
+        reader.join();
+        writer.join();
+        long wallNanos = System.nanoTime() - startTime;
+
+        long read = 0, compute = 0, write = 0, points = 0;
+        int failures = 0;
+        for (Job job : finished) {
+            read += job.readNanos;
+            compute += job.computeNanos;
+            write += job.writeNanos;
+            points += job.inputSize;
+            if (job.error != null) {
+                failures++;
+            }
+        }
+        System.out.printf("%d files, %d failed, %,d records in %.1f ms wall%n",
+                finished.size(), failures, points, wallNanos / 1e6);
+        System.out.printf("  read %.1f ms, compute %.1f ms (%.0f%% of wall), write %.1f ms%n",
+                read / 1e6, compute / 1e6, 100.0 * compute / wallNanos, write / 1e6);
+        return failures;
+    }
+
+    private void read(List<Path> inputs) {
+        try {
+            for (Path input : inputs) {
+                Job job = new Job(input);
+                long startTime = System.nanoTime();
+                try {
+                    job.data = isText(input) ? PointFile.importText(input) : PointFile.read(input);
+                    job.inputSize = job.data.size();
+                } catch (Throwable e) {
+                    job.data = null;
+                    job.error = e;
+                }
+                job.readNanos = System.nanoTime() - startTime;
+                loaded.put(job);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            handOff(loaded, END);
+        }
+    }
+
+    private void compute() throws InterruptedException {
+        try {
+            Job job;
+            while ((job = loaded.take()) != END) {
+                if (job.error == null) {
+                    long startTime = System.nanoTime();
+                    try {
+                        compute(job);
+                    } catch (Throwable e) {
+                        job.error = e;
+                    }
+                    job.computeNanos = System.nanoTime() - startTime;
+                }
+                if (job.error != null) {
+                    job.data = null;
+                    job.result = null;
+                }
+                computed.put(job);
+            }
+        } finally {
+            handOff(computed, END);
+        }
+    }
+
+    /** Puts {@code job} even when interrupted, so the next stage never waits forever. */
+    private static void handOff(BlockingQueue<Job> queue, Job job) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                queue.put(job);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void compute(Job job) {
+        PointFile data = job.data;
+        if (hullAlgorithm != null) {
+            if (data.getKind() != PointFile.Kind.POINTS) {
+                throw new IllegalArgumentException(getAlgorithmName() + " needs points, not " + data.getKind());
+            }
+            double[] xs = data.xs();
+            double[] ys = data.ys();
+            int[] hull = hullAlgorithm.calculateConvexHull(xs, ys);
+            double[][] result = new double[2][hull.length];
+            for (int i = 0; i < hull.length; i++) {
+                result[0][i] = xs[hull[i]];
+                result[1][i] = ys[hull[i]];
+            }
+            job.result = result;
+            job.outputSize = hull.length;
+        } else {
+            if (data.getKind() != PointFile.Kind.SEGMENTS) {
+                throw new IllegalArgumentException(getAlgorithmName() + " needs segments, not " + data.getKind());
+            }
+            List<Line2D> intersections = intersectionAlgorithm.calculateIntersections(data.toSegments());
+            double[][] result = new double[2][intersections.size()];
+            for (int i = 0; i < intersections.size(); i++) {
+                result[0][i] = intersections.get(i).getX1();
+                result[1][i] = intersections.get(i).getY1();
+            }
+            job.result = result;
+            job.outputSize = intersections.size();
+        }
+    }
+
+    private void write() {
+        try {
+            Job job;
+            while ((job = computed.take()) != END) {
+                if (job.error == null) {
+                    long startTime = System.nanoTime();
+                    try {
+                        write(job);
+                    } catch (Throwable e) {
+                        job.error = e;
+                    }
+                    job.writeNanos = System.nanoTime() - startTime;
+                }
+                report(job);
+                job.data = null;
+                job.result = null;
+                finished.add(job);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Job job) throws IOException {
+        String name = job.input.getFileName().toString();
+        String stem = name.substring(0, name.lastIndexOf('.'));
+        String suffix = hullAlgorithm != null ? ".hull" : ".intersections";
+        double[] xs = job.result[0];
+        double[] ys = job.result[1];
+
+        if (isText(job.input)) {
+            Path target = outputDirectory.resolve(stem + suffix + ".txt");
+            if (hullAlgorithm != null) {
+                List<Point2D> points = new ArrayList<>(xs.length);
+                for (int i = 0; i < xs.length; i++) {
+                    points.add(new Point2D.Double(xs[i], ys[i]));
+                }
+                new FileResultSink().write(target.toString(), points, ResultSink.HULL_POINTS);
+            } else {
+                List<Line2D> points = new ArrayList<>(xs.length);
+                for (int i = 0; i < xs.length; i++) {
+                    points.add(new Line2D.Double(xs[i], ys[i], xs[i], ys[i]));
+                }
+                new FileResultSink().write(target.toString(), points, ResultSink.INTERSECTION_POINTS);
+            }
+        } else {
+            // Hull vertices are input points; intersection points are rarely integral.
+            PointFile.CoordinateType type = hullAlgorithm != null ? job.data.getCoordinateType() : PointFile.CoordinateType.FLOAT64;
+            PointFile.writePoints(outputDirectory.resolve(stem + suffix + ".geop"), xs, ys, type);
+        }
+    }
+
+    private void report(Job job) {
+        if (job.error != null) {
+            System.out.printf("%-32s FAILED: %s%n", job.input.getFileName(), job.error);
+            return;
+        }
+        System.out.printf("%-32s %,12d in %,10d out  read %8.1f ms  compute %8.1f ms  write %8.1f ms%n",
+                job.input.getFileName(), job.inputSize, job.outputSize,
+                job.readNanos / 1e6, job.computeNanos / 1e6, job.writeNanos / 1e6);
+    }
+
+    private static boolean isText(Path path) {
+        return path.getFileName().toString().endsWith(".txt");
+    }
+
+    private static boolean isInput(Path path) {
+        String name = path.getFileName().toString();
+        return Files.isRegularFile(path) && (name.endsWith(".txt") || name.endsWith(".geop"));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 2) {
+            args = new String[] { "default", args[0], args[1] };
+        }
+        if (args.length < 3 || args.length > 4) {
+            usage();
+        }
+
+        // Results go to the output directory, not the working-directory files the pages write.
+        ResultSinks.setCurrent(ResultSink.NONE);
+
+        Path outputDirectory = Path.of(args[2]);
+        Files.createDirectories(outputDirectory);
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(Path.of(args[1]))) {
+            inputs = files.filter(BatchRunner::isInput).sorted().collect(Collectors.toList());
+        }
+
+        BatchRunner runner = null;
+        try {
+            runner = new BatchRunner(args[0], outputDirectory, args.length > 3 ? Integer.parseInt(args[3]) : 2);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            usage();
+        }
+        System.out.println(runner.getAlgorithmName() + " over " + inputs.size() + " files");
+        int failures = runner.run(inputs);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void usage() {
+        System.err.println("usage: java -Djava.awt.headless=true BatchRunner [algorithm] <input dir> <output dir> [queue capacity]");
+        System.err.println("  convex hull (prefix with filtered- for Akl-Toussaint): " + String.join(", ", HULL_ALGORITHMS.keySet()));
+        System.err.println("  line intersection: " + String.join(", ", INTERSECTION_ALGORITHMS.keySet()));
+        System.exit(2);
+    }
+}
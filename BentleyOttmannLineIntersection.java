@@ -0,0 +1,367 @@
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Bentley-Ottmann sweep. Reports the same pairs as {@link CCWLineIntersection},
+ * in the same order, in O((n + k) log n) time.
+ */
+public class BentleyOttmannLineIntersection implements LineIntersectionAlgorithm {
+    // Relative tolerance for a segment passing through a rounded crossing point.
+    private static final double EPSILON = 1e-9;
+
+    @Override
+    public List<Line2D> calculateIntersections(List<Line2D> lines) {
+        List<Line2D> intersections;
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "sweep", lines.size())) {
+            long[] pairs = new Sweep(lines, false).run();
+            intersections = new ArrayList<>(pairs.length);
+            for (long pair : pairs) {
+                Point2D intersectionPoint = CCWLineIntersection.calculateIntersectionPoint(lines.get(PairBuffer.first(pair)), lines.get(PairBuffer.second(pair)));
+                intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
+            }
+            phase.setResultSize(intersections.size());
+        }
+
+        ResultSinks.current().write("line_intersection_output.txt", intersections, ResultSink.INTERSECTION_POINTS);
+
+        return intersections;
+    }
+
+    /**
+     * Shamos-Hoey existence test: the same sweep, stopped as soon as two
+     * segments that meet at an event point or become neighbours in the status
+     * intersect. The leftmost intersection is always found that way before the
+     * sweep passes it, so no crossing event is ever scheduled and this is
+     * O(n log n).
+     */
+    static boolean anyIntersection(List<Line2D> lines) {
+        try (Instrumentation.Phase phase = Instrumentation.begin("Shamos-Hoey", "sweep", lines.size())) {
+            boolean found = new Sweep(lines, true).run().length > 0;
+            phase.setResultSize(found ? 1 : 0);
+            return found;
+        }
+    }
+
+    private static final class Segment {
+        final int index;
+        final Line2D line;
+        final double x1, y1, x2, y2;
+        final double slope;
+        final boolean vertical;
+        final boolean probe;
+        // Where the segment was last inserted into the status: its left
+        // endpoint, or the event point it was reinserted at.
+        double keyX, keyY;
+
+        Segment(int index, Line2D line) {
+            this.index = index;
+            this.line = line;
+            double ax = line.getX1() + 0.0, ay = line.getY1() + 0.0;
+            double bx = line.getX2() + 0.0, by = line.getY2() + 0.0;
+            if (ax > bx || (ax == bx && ay > by)) {
+                x1 = bx; y1 = by; x2 = ax; y2 = ay;
+            } else {
+                x1 = ax; y1 = ay; x2 = bx; y2 = by;
+            }
+            vertical = x1 == x2;
+            slope = vertical ? Double.POSITIVE_INFINITY : (y2 - y1) / (x2 - x1);
+            probe = false;
+            keyX = x1;
+            keyY = y1;
+        }
+
+        Segment(double x, double y) {
+            index = -1;
+            line = null;
+            x1 = Double.NEGATIVE_INFINITY; x2 = Double.POSITIVE_INFINITY;
+            y1 = y; y2 = y;
+            slope = 0;
+            vertical = false;
+            probe = true;
+            keyX = x;
+            keyY = y;
+        }
+
+        double yAt(double x) {
+            if (probe || x <= x1) {
+                return y1;
+            }
+            if (x >= x2) {
+                return y2;
+            }
+            return y1 + (x - x1) * slope;
+        }
+
+        /** Side of (x, y) relative to the segment's supporting line. */
+        int side(double x, double y) {
+            return Orientation.orient(x1, y1, x2, y2, x, y);
+        }
+    }
+
+    private static final class Event implements Comparable<Event> {
+        final double x, y;
+        final List<Segment> starts = new ArrayList<>();
+        final List<Segment> verticals = new ArrayList<>();
+        final List<Segment> crossings = new ArrayList<>();
+
+        Event(double x, double y) {
+            this.x = x + 0.0;
+            this.y = y + 0.0;
+        }
+
+        boolean isBefore(double px, double py) {
+            return x < px || (x == px && y < py);
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byX = Double.compare(x, other.x);
+            return byX != 0 ? byX : Double.compare(y, other.y);
+        }
+    }
+
+    private static final class Sweep {
+        private final TreeMap<Event, Event> events = new TreeMap<>();
+        private final TreeSet<Segment> status = new TreeSet<>(Sweep::compare);
+        private final List<Segment> activeVerticals = new ArrayList<>();
+        private final Set<Long> reported = new HashSet<>();
+        private final boolean firstOnly;
+        private double sweepX = Double.NEGATIVE_INFINITY;
+
+        Sweep(List<Line2D> lines, boolean firstOnly) {
+            this.firstOnly = firstOnly;
+            for (int i = 0; i < lines.size(); i++) {
+                Segment segment = new Segment(i, lines.get(i));
+                if (segment.x1 == segment.x2 && segment.y1 == segment.y2) {
+                    continue;
+                }
+                Event start = event(segment.x1, segment.y1);
+                if (segment.vertical) {
+                    start.verticals.add(segment);
+                } else {
+                    start.starts.add(segment);
+                    event(segment.x2, segment.y2);
+                }
+            }
+        }
+
+        long[] run() {
+            while (!events.isEmpty() && !done()) {
+                Cancellation.check();
+                handle(events.pollFirstEntry().getKey());
+            }
+            long[] pairs = new long[reported.size()];
+            int count = 0;
+            for (long pair : reported) {
+                pairs[count++] = pair;
+            }
+            Arrays.sort(pairs);
+            return pairs;
+        }
+
+        private boolean done() {
+            return firstOnly && !reported.isEmpty();
+        }
+
+        private Event event(double x, double y) {
+            Event key = new Event(x, y);
+            Event existing = events.putIfAbsent(key, key);
+            return existing == null ? key : existing;
+        }
+
+        private void handle(Event p) {
+            if (p.x != sweepX) {
+                activeVerticals.clear();
+            }
+            sweepX = p.x;
+            Segment probe = new Segment(p.x, p.y);
+
+            // Segments exactly through p sort above the probe; those through a
+            // rounded crossing point may sit just below it.
+            List<Segment> through = new ArrayList<>();
+            removeThrough(status.headSet(probe, false).descendingIterator(), p, through);
+            removeThrough(status.tailSet(probe, false).iterator(), p, through);
+
+            List<Segment> involved = new ArrayList<>(through);
+            involved.addAll(p.starts);
+            involved.addAll(p.verticals);
+            for (int i = 0; i < involved.size(); i++) {
+                for (int j = i + 1; j < involved.size() && !done(); j++) {
+                    report(involved.get(i), involved.get(j));
+                }
+            }
+            for (Segment start : p.starts) {
+                for (Segment vertical : activeVerticals) {
+                    if (vertical.y2 >= p.y) {
+                        report(start, vertical);
+                    }
+                }
+            }
+            for (int i = 0; i < p.crossings.size(); i += 2) {
+                report(p.crossings.get(i), p.crossings.get(i + 1));
+            }
+            if (done()) {
+                return;
+            }
+
+            for (Segment vertical : p.verticals) {
+                for (Segment segment : status.tailSet(probe, false)) {
+                    if (segment.side(p.x, vertical.y2) == Orientation.CLOCKWISE
+                            && !near(segment, p.x, vertical.y2)) {
+                        break;
+                    }
+                    report(vertical, segment);
+                }
+                activeVerticals.add(vertical);
+            }
+
+            List<Segment> inserted = new ArrayList<>(p.starts);
+            for (Segment segment : through) {
+                if (p.isBefore(segment.x2, segment.y2)) {
+                    inserted.add(segment);
+                }
+            }
+            if (inserted.isEmpty()) {
+                Segment below = status.lower(probe);
+                Segment above = status.ceiling(probe);
+                if (below != null && above != null) {
+                    findCrossing(below, above, p);
+                }
+                return;
+            }
+
+            for (Segment segment : inserted) {
+                segment.keyX = p.x;
+                segment.keyY = p.y;
+            }
+            status.addAll(inserted);
+            Segment lowest = inserted.get(0);
+            Segment highest = inserted.get(0);
+            for (Segment segment : inserted) {
+                if (compare(segment, lowest) < 0) {
+                    lowest = segment;
+                }
+                if (compare(segment, highest) > 0) {
+                    highest = segment;
+                }
+            }
+            Segment below = status.lower(lowest);
+            if (below != null) {
+                findCrossing(below, lowest, p);
+            }
+            Segment above = status.higher(highest);
+            if (above != null) {
+                findCrossing(highest, above, p);
+            }
+        }
+
+        private static void removeThrough(Iterator<Segment> iterator, Event p, List<Segment> through) {
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (!near(segment, p.x, p.y)) {
+                    return;
+                }
+                through.add(segment);
+                iterator.remove();
+            }
+        }
+
+        private void findCrossing(Segment s, Segment t, Event p) {
+            if (!intersects(s, t)) {
+                return;
+            }
+            if (firstOnly) {
+                report(s, t);
+                return;
+            }
+            Segment first = s.index < t.index ? s : t;
+            Segment second = s.index < t.index ? t : s;
+            Point2D crossing = CCWLineIntersection.calculateIntersectionPoint(first.line, second.line);
+            if (Double.isFinite(crossing.getX()) && Double.isFinite(crossing.getY())
+                    && p.isBefore(crossing.getX(), crossing.getY())) {
+                Event event = event(crossing.getX(), crossing.getY());
+                event.crossings.add(s);
+                event.crossings.add(t);
+            } else {
+                report(s, t);
+            }
+        }
+
+        private void report(Segment s, Segment t) {
+            if (s.index != t.index && intersects(s, t)) {
+                int first = Math.min(s.index, t.index);
+                int second = Math.max(s.index, t.index);
+                if (reported.add(PairBuffer.pack(first, second)) && StepTrace.ENABLED) {
+                    StepTrace.record(StepTrace.PAIR, first, second);
+                }
+            }
+        }
+
+        /**
+         * Orders segments by height at the sweep line, then by slope, then by
+         * index. Of two segments, the one with the later key point is located
+         * against the other's supporting line with Orientation; every lookup
+         * key lies on the sweep line, so this is the order there. No step
+         * rounds or uses a tolerance, so nothing depends on the scale of the
+         * coordinates.
+         */
+        private static int compare(Segment s, Segment t) {
+            if (s == t) {
+                return 0;
+            }
+            int side;
+            if (s.keyX == t.keyX) {
+                side = Double.compare(s.keyY, t.keyY);
+            } else if (s.keyX > t.keyX) {
+                side = t.side(s.keyX, s.keyY);
+            } else {
+                side = -s.side(t.keyX, t.keyY);
+            }
+            if (side != 0) {
+                return side;
+            }
+            if (s.probe) {
+                return -1;
+            }
+            if (t.probe) {
+                return 1;
+            }
+            int turn = Orientation.cross(t.x1, t.y1, t.x2, t.y2, s.x1, s.y1, s.x2, s.y2);
+            return turn != 0 ? turn : Integer.compare(s.index, t.index);
+        }
+
+        private static boolean near(Segment segment, double x, double y) {
+            double scale = Math.abs(segment.y1) + Math.abs(segment.y2) + Math.abs(y)
+                    + Math.abs(segment.slope) * (Math.abs(segment.x1) + Math.abs(x));
+            return Math.abs(segment.yAt(x) - y) <= EPSILON * scale;
+        }
+
+        private static boolean intersects(Segment s, Segment t) {
+            return CCWLineIntersection.intersects(s.line, t.line);
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Bentley-Ottmann";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O((n + k) log n)";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n + k)";
+    }
+}
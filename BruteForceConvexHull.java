@@ -1,104 +1,123 @@
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JPanel;
-
-public class BruteForceConvexHull extends JPanel implements ConvexHullAlgorithm {
-    private List<Point2D> points = new ArrayList<>();
-
-    public BruteForceConvexHull() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                points.add(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    @Override
-    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        List<Point2D> convexHull = new ArrayList<>();
-
-        int n = inputPoints.size();
-        if (n < 3) {
-            return convexHull;
-        }
-
-        int leftmostPointIndex = LeftmostPoint(inputPoints);
-        int currentPointIndex = leftmostPointIndex;
-        int nextPointIndex;
-
-        do {
-            convexHull.add(inputPoints.get(currentPointIndex));
-
-            nextPointIndex = (currentPointIndex + 1) % n;
-            for (int i = 0; i < n; i++) {
-                if (orientation(inputPoints.get(currentPointIndex),
-                                inputPoints.get(i),
-                                inputPoints.get(nextPointIndex)) == 2) {
-                    nextPointIndex = i;
-                }
-            }
-
-            currentPointIndex = nextPointIndex;
-
-        } while (currentPointIndex != leftmostPointIndex);
-
-        writeConvexHullToFile(convexHull, "convex_hull_output.txt");
-
-        return convexHull;
-    }
-
-    private int LeftmostPoint(List<Point2D> points) {
-        int leftmostIndex = 0;
-        int n = points.size();
-
-        for (int i = 1; i < n; i++) {
-            if (points.get(i).getX() < points.get(leftmostIndex).getX()) {
-                leftmostIndex = i;
-            }
-        }
-
-        return leftmostIndex;
-    }
-
-    private int orientation(Point2D p, Point2D q, Point2D r) {
-        double val = (q.getY() - p.getY()) * (r.getX() - q.getX()) - (q.getX() - p.getX()) * (r.getY() - q.getY());
-        if (val == 0) return 0; 
-        return (val > 0) ? 1 : 2; 
-    }
-
-    private void writeConvexHullToFile(List<Point2D> convexHull, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Point2D point : convexHull) {
-                writer.write(point.getX() + " , " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "Brute Force";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(n^3)"; 
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(1)"; 
-    }
-
-}
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JPanel;
+
+public class BruteForceConvexHull extends JPanel implements ConvexHullAlgorithm {
+    private List<Point2D> points = new ArrayList<>();
+
+    public BruteForceConvexHull() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                points.add(e.getPoint());
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        if (inputPoints.size() < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int[] convexHull = new int[n];
+        int size = 0;
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "wrap", n)) {
+            int leftmostPointIndex = LeftmostPoint(xs, ys);
+            int currentPointIndex = leftmostPointIndex;
+            int nextPointIndex;
+
+            do {
+                Cancellation.check();
+                convexHull[size++] = currentPointIndex;
+
+                nextPointIndex = (currentPointIndex + 1) % n;
+                for (int i = 0; i < n; i++) {
+                    int orientation = orientation(xs, ys, currentPointIndex, i, nextPointIndex);
+                    if (samePoint(xs, ys, currentPointIndex, nextPointIndex) || orientation == 2
+                            || (orientation == 0 && distance(xs, ys, currentPointIndex, i) > distance(xs, ys, currentPointIndex, nextPointIndex))) {
+                        nextPointIndex = i;
+                    }
+                }
+
+                currentPointIndex = nextPointIndex;
+
+            } while (!samePoint(xs, ys, currentPointIndex, leftmostPointIndex) && size < n);
+            phase.setResultSize(size);
+        }
+
+        return Arrays.copyOf(convexHull, size);
+    }
+
+    private int LeftmostPoint(double[] xs, double[] ys) {
+        int leftmostIndex = 0;
+        int n = xs.length;
+
+        for (int i = 1; i < n; i++) {
+            if (xs[i] < xs[leftmostIndex] || (xs[i] == xs[leftmostIndex] && ys[i] < ys[leftmostIndex])) {
+                leftmostIndex = i;
+            }
+        }
+
+        return leftmostIndex;
+    }
+
+    private boolean samePoint(double[] xs, double[] ys, int a, int b) {
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    private double distance(double[] xs, double[] ys, int a, int b) {
+        double dx = xs[b] - xs[a];
+        double dy = ys[b] - ys[a];
+        return dx * dx + dy * dy;
+    }
+
+    private int orientation(double[] xs, double[] ys, int p, int q, int r) {
+        switch (Orientation.orient(xs, ys, p, q, r)) {
+            case Orientation.CLOCKWISE:
+                return 1;
+            case Orientation.COUNTERCLOCKWISE:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Brute Force";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n^3)"; 
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(1)"; 
+    }
+
+}
@@ -1,83 +1,251 @@
-import java.awt.geom.Line2D;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-public class CCWLineIntersection implements LineIntersectionAlgorithm {
-
-    @Override
-    public List<Line2D> calculateIntersections(List<Line2D> lines) {
-        List<Line2D> intersections = new ArrayList<>();
-
-        for (int i = 0; i < lines.size(); i++) {
-            for (int j = i + 1; j < lines.size(); j++) {
-                Line2D line1 = lines.get(i);
-                Line2D line2 = lines.get(j);
-
-                if (ccw(line1.getP1(), line1.getP2(), line2.getP1()) !=
-                        ccw(line1.getP1(), line1.getP2(), line2.getP2()) &&
-                        ccw(line2.getP1(), line2.getP2(), line1.getP1()) !=
-                                ccw(line2.getP1(), line2.getP2(), line1.getP2())) {
-                    Point2D intersectionPoint = calculateIntersectionPoint(line1, line2);
-                    intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
-                }
-            }
-        }
-
-        writeIntersectionsToFile(intersections, "line_intersection_output.txt");
-
-        return intersections;
-    }
-
-    private int ccw(Point2D a, Point2D b, Point2D c) {
-        double crossProduct = (b.getX() - a.getX()) * (c.getY() - a.getY()) -
-                (b.getY() - a.getY()) * (c.getX() - a.getX());
-
-        if (crossProduct > 0) return 1;
-        if (crossProduct < 0) return -1;
-        return 0;
-    }
-
-    private Point2D calculateIntersectionPoint(Line2D line1, Line2D line2) {
-        double x1 = line1.getX1(), y1 = line1.getY1();
-        double x2 = line1.getX2(), y2 = line1.getY2();
-        double x3 = line2.getX1(), y3 = line2.getY1();
-        double x4 = line2.getX2(), y4 = line2.getY2();
-
-        double det = (x1 - x2) * (y3 - y4) - (y1 - y2) * (x3 - x4);
-        double x = ((x1 * y2 - y1 * x2) * (x3 - x4) - (x1 - x2) * (x3 * y4 - y3 * x4)) / det;
-        double y = ((x1 * y2 - y1 * x2) * (y3 - y4) - (y1 - y2) * (x3 * y4 - y3 * x4)) / det;
-
-        return new Point2D.Double(x, y);
-    }
-
-    private void writeIntersectionsToFile(List<Line2D> intersections, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Line2D line : intersections) {
-                Point2D point = line.getP1();
-                writer.write(point.getX() + " " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "CCW";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(n^2)";
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(1)";
-    }
-}
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+public class CCWLineIntersection implements LineIntersectionAlgorithm {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+    private static final int BAND_ROWS = 64;
+    private static final int TILE_COLUMNS = 1024;
+
+    private final boolean parallel;
+
+    public CCWLineIntersection() {
+        this(false);
+    }
+
+    public CCWLineIntersection(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public List<Line2D> calculateIntersections(List<Line2D> lines) {
+        List<Line2D> intersections = new ArrayList<>();
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "intersect", lines.size())) {
+            long[][] integral = IntegerGeometry.isIntegral(lines) ? IntegerGeometry.segmentColumns(lines) : null;
+            if (parallel && lines.size() >= PARALLEL_THRESHOLD) {
+                intersections = new Tiles(lines, integral).intersections();
+            } else if (integral != null) {
+                long[] x1s = integral[0], y1s = integral[1], x2s = integral[2], y2s = integral[3];
+                for (int i = 0; i < lines.size(); i++) {
+                    Cancellation.check();
+                    for (int j = i + 1; j < lines.size(); j++) {
+                        if (IntegerGeometry.intersects(x1s[i], y1s[i], x2s[i], y2s[i], x1s[j], y1s[j], x2s[j], y2s[j])) {
+                            if (StepTrace.ENABLED) {
+                                StepTrace.record(StepTrace.PAIR, i, j);
+                            }
+                            Point2D intersectionPoint = calculateIntersectionPoint(lines.get(i), lines.get(j));
+                            intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
+                        }
+                    }
+                }
+            } else {
+                for (int i = 0; i < lines.size(); i++) {
+                    Cancellation.check();
+                    for (int j = i + 1; j < lines.size(); j++) {
+                        Line2D line1 = lines.get(i);
+                        Line2D line2 = lines.get(j);
+
+                        if (intersects(line1, line2)) {
+                            if (StepTrace.ENABLED) {
+                                StepTrace.record(StepTrace.PAIR, i, j);
+                            }
+                            Point2D intersectionPoint = calculateIntersectionPoint(line1, line2);
+                            intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
+                        }
+                    }
+                }
+            }
+            phase.setResultSize(intersections.size());
+        }
+
+        ResultSinks.current().write("line_intersection_output.txt", intersections, ResultSink.INTERSECTION_POINTS);
+
+        return intersections;
+    }
+
+    /**
+     * Parallel all-pairs over primitive endpoint arrays. The upper triangle is cut
+     * into bands of BAND_ROWS rows, one fork/join task each, and every band walks
+     * its columns in tiles of TILE_COLUMNS so both row and column endpoints stay
+     * in cache. Each band collects its own pairs and the bands are joined in row
+     * order, so the result matches the sequential loop. Integral endpoints are
+     * tested with exact long arithmetic.
+     */
+    private static final class Tiles {
+        private final List<Line2D> lines;
+        private final double[] x1s, y1s, x2s, y2s;
+        private final long[][] integral;
+        private final List<Line2D>[] bands;
+        private final Thread owner = Thread.currentThread();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Tiles(List<Line2D> lines, long[][] integral) {
+            this.lines = lines;
+            this.integral = integral;
+            int n = lines.size();
+            x1s = new double[n];
+            y1s = new double[n];
+            x2s = new double[n];
+            y2s = new double[n];
+            for (int i = 0; i < n; i++) {
+                Line2D line = lines.get(i);
+                x1s[i] = line.getX1();
+                y1s[i] = line.getY1();
+                x2s[i] = line.getX2();
+                y2s[i] = line.getY2();
+            }
+            bands = new List[(n + BAND_ROWS - 1) / BAND_ROWS];
+        }
+
+        List<Line2D> intersections() {
+            Cancellation.invoke(new BandTask(0, bands.length));
+            int total = 0;
+            for (List<Line2D> band : bands) {
+                total += band.size();
+            }
+            List<Line2D> intersections = new ArrayList<>(total);
+            for (List<Line2D> band : bands) {
+                intersections.addAll(band);
+            }
+            return intersections;
+        }
+
+        private List<Line2D> band(int band) {
+            int n = x1s.length;
+            int rowFrom = band * BAND_ROWS;
+            int rowTo = Math.min(n, rowFrom + BAND_ROWS);
+
+            PairBuffer pairs = new PairBuffer();
+            for (int columnFrom = rowFrom + 1; columnFrom < n; columnFrom += TILE_COLUMNS) {
+                Cancellation.check(owner);
+                int columnTo = Math.min(n, columnFrom + TILE_COLUMNS);
+                if (integral != null) {
+                    scanIntegral(rowFrom, rowTo, columnFrom, columnTo, pairs);
+                } else {
+                    scan(rowFrom, rowTo, columnFrom, columnTo, pairs);
+                }
+            }
+
+            int[] rowStart = new int[rowTo - rowFrom + 1];
+            for (int k = 0; k < pairs.size(); k++) {
+                rowStart[PairBuffer.first(pairs.get(k)) - rowFrom + 1]++;
+            }
+            for (int row = 0; row < rowTo - rowFrom; row++) {
+                rowStart[row + 1] += rowStart[row];
+            }
+            long[] ordered = new long[pairs.size()];
+            for (int k = 0; k < pairs.size(); k++) {
+                long pair = pairs.get(k);
+                ordered[rowStart[PairBuffer.first(pair) - rowFrom]++] = pair;
+            }
+
+            List<Line2D> intersections = new ArrayList<>(ordered.length);
+            for (long pair : ordered) {
+                Point2D intersectionPoint = calculateIntersectionPoint(lines.get(PairBuffer.first(pair)), lines.get(PairBuffer.second(pair)));
+                intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
+            }
+            return intersections;
+        }
+
+        private void scan(int rowFrom, int rowTo, int columnFrom, int columnTo, PairBuffer pairs) {
+            for (int i = rowFrom; i < rowTo; i++) {
+                double ax = x1s[i], ay = y1s[i], bx = x2s[i], by = y2s[i];
+                for (int j = Math.max(i + 1, columnFrom); j < columnTo; j++) {
+                    if (intersects(ax, ay, bx, by, x1s[j], y1s[j], x2s[j], y2s[j])) {
+                        pairs.add(PairBuffer.pack(i, j));
+                        if (StepTrace.ENABLED) {
+                            StepTrace.record(StepTrace.PAIR, i, j);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void scanIntegral(int rowFrom, int rowTo, int columnFrom, int columnTo, PairBuffer pairs) {
+            long[] lx1s = integral[0], ly1s = integral[1], lx2s = integral[2], ly2s = integral[3];
+            for (int i = rowFrom; i < rowTo; i++) {
+                long ax = lx1s[i], ay = ly1s[i], bx = lx2s[i], by = ly2s[i];
+                for (int j = Math.max(i + 1, columnFrom); j < columnTo; j++) {
+                    if (IntegerGeometry.intersects(ax, ay, bx, by, lx1s[j], ly1s[j], lx2s[j], ly2s[j])) {
+                        pairs.add(PairBuffer.pack(i, j));
+                        if (StepTrace.ENABLED) {
+                            StepTrace.record(StepTrace.PAIR, i, j);
+                        }
+                    }
+                }
+            }
+        }
+
+        private final class BandTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            BandTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    bands[from] = band(from);
+                    return;
+                }
+                int mid = (from + to) >>> 1;
+                invokeAll(new BandTask(from, mid), new BandTask(mid, to));
+            }
+        }
+    }
+
+    static boolean intersects(Line2D line1, Line2D line2) {
+        return intersects(line1.getX1(), line1.getY1(), line1.getX2(), line1.getY2(),
+                line2.getX1(), line2.getY1(), line2.getX2(), line2.getY2());
+    }
+
+    static boolean intersects(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+        return ccw(ax, ay, bx, by, cx, cy) != ccw(ax, ay, bx, by, dx, dy) &&
+                ccw(cx, cy, dx, dy, ax, ay) != ccw(cx, cy, dx, dy, bx, by);
+    }
+
+    static int ccw(Point2D a, Point2D b, Point2D c) {
+        return ccw(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY());
+    }
+
+    static int ccw(double ax, double ay, double bx, double by, double cx, double cy) {
+        return Orientation.orient(ax, ay, bx, by, cx, cy);
+    }
+
+    static Point2D calculateIntersectionPoint(Line2D line1, Line2D line2) {
+        double x1 = line1.getX1(), y1 = line1.getY1();
+        double x2 = line1.getX2(), y2 = line1.getY2();
+        double x3 = line2.getX1(), y3 = line2.getY1();
+        double x4 = line2.getX2(), y4 = line2.getY2();
+
+        double det = (x1 - x2) * (y3 - y4) - (y1 - y2) * (x3 - x4);
+        double x = ((x1 * y2 - y1 * x2) * (x3 - x4) - (x1 - x2) * (x3 * y4 - y3 * x4)) / det;
+        double y = ((x1 * y2 - y1 * x2) * (y3 - y4) - (y1 - y2) * (x3 * y4 - y3 * x4)) / det;
+
+        return new Point2D.Double(x, y);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return parallel ? "Parallel CCW" : "CCW";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n^2)";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return parallel ? "O(n + k)" : "O(1)";
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Cooperative cancellation for long-running loops. Algorithms call
+ * {@link #check()} once per outer iteration; it throws when the worker running
+ * them has been interrupted because a newer request superseded it.
+ */
+public final class Cancellation {
+    /**
+     * Loops that do little work per iteration check once every 2^16
+     * iterations, {@code if ((i & Cancellation.INTERVAL_MASK) == 0)}.
+     */
+    public static final int INTERVAL_MASK = (1 << 16) - 1;
+
+    private static final Set<Thread> CANCELLED = ConcurrentHashMap.newKeySet();
+
+    private Cancellation() {
+    }
+
+    public static void check() {
+        check(Thread.currentThread());
+    }
+
+    /**
+     * Variant for fork/join subtasks, which run on pool threads and so must
+     * poll the thread that submitted the computation.
+     */
+    public static void check(Thread owner) {
+        if (owner.isInterrupted() || CANCELLED.contains(owner)) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Runs {@code task} on the common pool and waits for it. Use this instead of
+     * {@code ForkJoinPool.invoke}, which clears the caller's interrupt status
+     * while it waits, so subtasks polling {@link #check(Thread)} would never
+     * see the interrupt. Here an interrupt marks the caller cancelled until the
+     * subtasks have stopped, then surfaces as a {@link CancellationException}.
+     */
+    public static <T> T invoke(ForkJoinTask<T> task) {
+        Thread owner = Thread.currentThread();
+        ForkJoinPool.commonPool().execute(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            CANCELLED.add(owner);
+            try {
+                task.quietlyJoin();
+            } finally {
+                CANCELLED.remove(owner);
+                owner.interrupt();
+            }
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
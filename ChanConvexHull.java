@@ -1,127 +1,279 @@
-import javax.swing.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Stack;
-
-
-public class ChanConvexHull extends JPanel implements ConvexHullAlgorithm {
-
-    private List<Point2D> points = new ArrayList<>();
-
-    public ChanConvexHull() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                points.add(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    @Override
-    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        int n = inputPoints.size();
-        if (n < 3) {
-            return inputPoints;
-        }
-
-        List<Point2D> convexHull = new ArrayList<>();
-
-        inputPoints.sort(Comparator.comparing(Point2D::getX));
-
-        int h = Math.min(2, n);
-        List<List<Point2D>> pointSets = new ArrayList<>();
-        for (int i = 0; i < n; i += h) {
-            int end = Math.min(i + h, n);
-            pointSets.add(inputPoints.subList(i, end));
-        }
-
-        for (List<Point2D> pointSet : pointSets) {
-            List<Point2D> giftWrappingHull = GrahamScan(pointSet);
-            convexHull.addAll(giftWrappingHull);
-        }
-
-        List<Point2D> grahamHull = GrahamScan(convexHull);
-
-        writeConvexHullToFile(grahamHull, "convex_hull_output.txt");
-
-        return grahamHull;
-    }
-
-
-    private static List<Point2D> GrahamScan(List<Point2D> points) {
-        int n = points.size();
-        if (n < 3) {
-            return points;
-        }
-
-        Point2D pivot = points.stream()
-                .min(Comparator.comparing(Point2D::getY).thenComparing(Point2D::getX))
-                .orElseThrow(IllegalArgumentException::new);
-
-        points.sort((p1, p2) -> {
-            double angle1 = Math.atan2(p1.getY() - pivot.getY(), p1.getX() - pivot.getX());
-            double angle2 = Math.atan2(p2.getY() - pivot.getY(), p2.getX() - pivot.getX());
-            return Double.compare(angle1, angle2);
-        });
-
-        Stack<Point2D> stack = new Stack<>();
-        stack.push(points.get(0));
-        stack.push(points.get(1));
-
-        for (int i = 2; i < n; i++) {
-            while (orientation(nextToTop(stack), stack.peek(), points.get(i)) != 2) {
-                stack.pop();
-            }
-            stack.push(points.get(i));
-        }
-
-        return new ArrayList<>(stack);
-    }
-
-    private static Point2D nextToTop(Stack<Point2D> stack) {
-        Point2D top = stack.pop();
-        Point2D nextToTop = stack.peek();
-        stack.push(top);
-        return nextToTop;
-    }
-
-    private static int orientation(Point2D p, Point2D q, Point2D r) {
-        int val = (int) ((q.getY() - p.getY()) * (r.getX() - q.getX()) - (q.getX() - p.getX()) * (r.getY() - q.getY()));
-        if (val == 0) return 0;
-        return (val > 0) ? 1 : 2;
-    }
-
-    private void writeConvexHullToFile(List<Point2D> convexHull, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Point2D point : convexHull) {
-                writer.write(point.getX() + " , " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "Chan's Algorithm";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(n log h)"; 
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(1)"; 
-    }
-}
+import javax.swing.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+public class ChanConvexHull extends JPanel implements ConvexHullAlgorithm {
+
+    private List<Point2D> points = new ArrayList<>();
+    private int rounds;
+    private int groupSize;
+
+    public ChanConvexHull() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                points.add(e.getPoint());
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        rounds = 0;
+        groupSize = 0;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int start = 0;
+        for (int i = 1; i < n; i++) {
+            if (xs[i] < xs[start] || (xs[i] == xs[start] && ys[i] < ys[start])) {
+                start = i;
+            }
+        }
+
+        for (int t = 1; ; t++) {
+            int m = t >= 5 ? n : (int) Math.min(n, 1L << (1 << t));
+            rounds++;
+            groupSize = m;
+
+            try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "round", n)) {
+                int[] hull = wrap(xs, ys, start, m);
+                if (hull != null) {
+                    phase.setResultSize(hull.length);
+                    return hull;
+                }
+            }
+        }
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    /**
+     * One round of Chan's algorithm for the guess m: builds a hull for every
+     * group of m consecutive points, then gift-wraps over the group hulls with
+     * one tangent query per group per step. Returns null once more than m
+     * steps would be needed.
+     */
+    private int[] wrap(double[] xs, double[] ys, int start, int m) {
+        int n = xs.length;
+        int groups = (n + m - 1) / m;
+
+        double[] hullXs = new double[n];
+        double[] hullYs = new double[n];
+        int[] hullIndices = new int[n];
+        int[] offsets = new int[groups + 1];
+
+        double[] groupXs = new double[m];
+        double[] groupYs = new double[m];
+        int[] groupOrder = new int[m];
+        int total = 0;
+
+        for (int g = 0; g < groups; g++) {
+            int from = g * m;
+            int length = Math.min(n, from + m) - from;
+            System.arraycopy(xs, from, groupXs, 0, length);
+            System.arraycopy(ys, from, groupYs, 0, length);
+            for (int i = 0; i < length; i++) {
+                groupOrder[i] = from + i;
+            }
+
+            IndexSort.sortPoints(groupXs, groupYs, groupOrder, 0, length);
+            int[] groupHull = MonotoneChainConvexHull.hull(groupXs, groupYs, 0, length);
+
+            offsets[g] = total;
+            for (int position : groupHull) {
+                hullXs[total] = groupXs[position];
+                hullYs[total] = groupYs[position];
+                hullIndices[total] = groupOrder[position];
+                total++;
+            }
+        }
+        offsets[groups] = total;
+
+        int currentGroup = start / m;
+        int current = offsets[currentGroup];
+        double startX = hullXs[current];
+        double startY = hullYs[current];
+
+        int[] hull = new int[m];
+        int size = 0;
+
+        for (int step = 0; step < m; step++) {
+            Cancellation.check();
+            hull[size++] = hullIndices[current];
+            double px = hullXs[current];
+            double py = hullYs[current];
+
+            int best = -1;
+            int bestGroup = -1;
+            for (int g = 0; g < groups; g++) {
+                int from = offsets[g];
+                int count = offsets[g + 1] - from;
+
+                int candidate;
+                if (g == currentGroup) {
+                    candidate = from + (current - from + 1) % count;
+                } else {
+                    candidate = from + tangent(hullXs, hullYs, from, count, px, py);
+                }
+
+                if (best < 0 || isMoreClockwise(px, py, hullXs[best], hullYs[best], hullXs[candidate], hullYs[candidate])) {
+                    if (hullXs[candidate] != px || hullYs[candidate] != py) {
+                        best = candidate;
+                        bestGroup = g;
+                    }
+                }
+            }
+
+            if (best < 0 || (hullXs[best] == startX && hullYs[best] == startY)) {
+                return Arrays.copyOf(hull, size);
+            }
+
+            current = best;
+            currentGroup = bestGroup;
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the vertex of a counterclockwise convex polygon that the wrap from
+     * (px, py) turns to next: a binary search over the bitonic sequence of
+     * directions, followed by a short local walk that settles ties and
+     * degenerate positions.
+     */
+    private static int tangent(double[] hullXs, double[] hullYs, int from, int count, double px, double py) {
+        int best = 0;
+        if (count <= 8) {
+            for (int i = 1; i < count; i++) {
+                if (isMoreClockwise(px, py, hullXs[from + best], hullYs[from + best], hullXs[from + i], hullYs[from + i])) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        best = binarySearchTangent(hullXs, hullYs, from, count, px, py);
+
+        for (int steps = 0; steps < count; steps++) {
+            int next = (best + 1) % count;
+            int previous = (best + count - 1) % count;
+            if (isMoreClockwise(px, py, hullXs[from + best], hullYs[from + best], hullXs[from + next], hullYs[from + next])) {
+                best = next;
+            } else if (isMoreClockwise(px, py, hullXs[from + best], hullYs[from + best], hullXs[from + previous], hullYs[from + previous])) {
+                best = previous;
+            } else {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private static int binarySearchTangent(double[] hullXs, double[] hullYs, int from, int count, double px, double py) {
+        if (isAhead(hullXs, hullYs, from, count, px, py, 0, 1) && !isAhead(hullXs, hullYs, from, count, px, py, count - 1, 0)) {
+            return 0;
+        }
+
+        int a = 0;
+        int b = count;
+        int c = 0;
+        int limit = 2 * (32 - Integer.numberOfLeadingZeros(count)) + 4;
+        for (int iteration = 0; iteration < limit && b - a > 1; iteration++) {
+            c = (a + b) >>> 1;
+            boolean downC = isAhead(hullXs, hullYs, from, count, px, py, c, c + 1);
+            if (downC && !isAhead(hullXs, hullYs, from, count, px, py, c - 1, c)) {
+                return c;
+            }
+
+            boolean upA = isAhead(hullXs, hullYs, from, count, px, py, a + 1, a);
+            if (upA) {
+                if (downC || isAhead(hullXs, hullYs, from, count, px, py, a, c)) {
+                    b = c;
+                } else {
+                    a = c;
+                }
+            } else {
+                if (!downC || !isAhead(hullXs, hullYs, from, count, px, py, c, a)) {
+                    a = c;
+                } else {
+                    b = c;
+                }
+            }
+        }
+        return c % count;
+    }
+
+    private static boolean isAhead(double[] hullXs, double[] hullYs, int from, int count, double px, double py, int i, int j) {
+        int u = from + (j % count);
+        int v = from + (i % count);
+        return isMoreClockwise(px, py, hullXs[u], hullYs[u], hullXs[v], hullYs[v]);
+    }
+
+    /**
+     * True when (vx, vy) rules out (ux, uy) as the next wrap vertex from
+     * (px, py): it lies to the right of p->u, or on the same ray further out.
+     */
+    private static boolean isMoreClockwise(double px, double py, double ux, double uy, double vx, double vy) {
+        if (vx == px && vy == py) {
+            return false;
+        }
+        if (ux == px && uy == py) {
+            return true;
+        }
+
+        int orientation = Orientation.orient(px, py, ux, uy, vx, vy);
+        if (orientation != Orientation.COLLINEAR) {
+            return orientation == Orientation.CLOCKWISE;
+        }
+
+        double dot = (ux - px) * (vx - px) + (uy - py) * (vy - py);
+        if (dot <= 0) {
+            return false;
+        }
+        return (vx - px) * (vx - px) + (vy - py) * (vy - py) > (ux - px) * (ux - px) + (uy - py) * (uy - py);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Chan's Algorithm";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log h)"; 
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)"; 
+    }
+}
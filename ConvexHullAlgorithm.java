@@ -1,9 +1,25 @@
-import java.awt.geom.Point2D;
-import java.util.List;
-
-public interface ConvexHullAlgorithm {
-    List<Point2D> calculateConvexHull(List<Point2D> inputPoints);
-    String getAlgorithmName();
-    String getTimeComplexity();
-    String getSpaceComplexity();
-}
+import java.awt.geom.Point2D;
+import java.util.List;
+
+/**
+ * A convex hull engine. Every implementation returns the hull vertices in
+ * counterclockwise order with y pointing up, which is clockwise on screen.
+ */
+public interface ConvexHullAlgorithm {
+    List<Point2D> calculateConvexHull(List<Point2D> inputPoints);
+
+    /** Indices of the hull vertices, in the same order as the list overload. */
+    int[] calculateConvexHull(double[] xs, double[] ys);
+
+    String getAlgorithmName();
+    String getTimeComplexity();
+    String getSpaceComplexity();
+
+    /**
+     * Monotone chain, used where no algorithm is picked: by BatchRunner without
+     * one, and by the hull page once the point set grows large.
+     */
+    static ConvexHullAlgorithm defaultAlgorithm() {
+        return new MonotoneChainConvexHull();
+    }
+}
@@ -1,187 +1,330 @@
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.List;
-
-public class ConvexHullPage extends JPanel {
-    private ConvexHullAlgorithm convexHullAlgorithm;
-    private long executionTime;
-    private List<Point2D> points = SharedData.getPoints();
-    private JTextField timeTextField;
-    private JTextField timeComplexityTextField;
-    private JTextField spaceComplexityTextField;
-    private JTextField AlgoTextField;
-
-    public ConvexHullPage() {
-        initUI();
-        addListeners();
-    }
-
-    private void initUI() {
-        setLayout(new BorderLayout());
-
-        JButton bruteForceButton = new JButton("Brute Force");
-        bruteForceButton.addActionListener(e -> runAlgorithm(new BruteForceConvexHull()));
-        bruteForceButton.setBackground(Color.WHITE);  
-        bruteForceButton.setForeground(Color.BLACK);
-
-        JButton grahamScanButton = new JButton("Graham Scan");
-        grahamScanButton.addActionListener(e -> runAlgorithm(new GrahamScanConvexHull()));
-        grahamScanButton.setBackground(Color.WHITE);  
-        grahamScanButton.setForeground(Color.BLACK);
-
-        JButton jarvisButton = new JButton("Jarvis March");
-        jarvisButton.addActionListener(e -> runAlgorithm(new JarvisMarchConvexHull()));
-        jarvisButton.setBackground(Color.WHITE);  
-        jarvisButton.setForeground(Color.BLACK);
-
-        JButton quickHullButton = new JButton("QuickHull");
-        quickHullButton.addActionListener(e -> runAlgorithm(new QuickHullConvexHull()));
-        quickHullButton.setBackground(Color.WHITE);  
-        quickHullButton.setForeground(Color.BLACK);
-
-        JButton divideConquerButton = new JButton("Chan's");
-        divideConquerButton.addActionListener(e -> runAlgorithm(new ChanConvexHull()));
-        divideConquerButton.setBackground(Color.WHITE);  
-        divideConquerButton.setForeground(Color.BLACK);
-
-        JButton clearButton = new JButton("Clear");
-        clearButton.addActionListener(e -> clear());
-        clearButton.setBackground(Color.BLACK);  
-        clearButton.setForeground(Color.WHITE);
-
-        JButton backToMenuButton = new JButton("Back to Menu");
-        backToMenuButton.addActionListener(e -> backToMenu());
-        backToMenuButton.setBackground(Color.BLACK);  
-        backToMenuButton.setForeground(Color.WHITE);
-
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 1)); 
-        JPanel buttons = new JPanel();
-        buttons.add(bruteForceButton);
-        buttons.add(grahamScanButton);
-        buttons.add(jarvisButton);
-        buttons.add(quickHullButton);
-        buttons.add(divideConquerButton);
-        buttons.add(clearButton);
-        buttons.add(backToMenuButton);
-
-        JPanel textBoxPanel = new JPanel();
-        AlgoTextField = new JTextField(10);
-        AlgoTextField.setEditable(false);
-        textBoxPanel.add(new JLabel("Current Algorithm:"));
-        textBoxPanel.add(AlgoTextField);
-
-        buttonPanel.add(buttons);
-        buttonPanel.add(textBoxPanel);
-
-        timeTextField = new JTextField(10);
-        timeTextField.setEditable(false);
-        timeComplexityTextField = new JTextField(10);
-        timeComplexityTextField.setEditable(false);
-        spaceComplexityTextField = new JTextField(10);
-        spaceComplexityTextField.setEditable(false);
-
-        JPanel complexityPanel = new JPanel();
-        complexityPanel.add(new JLabel("Execution Time (ns):"));
-        complexityPanel.add(timeTextField);
-        complexityPanel.add(new JLabel("Time Complexity:"));
-        complexityPanel.add(timeComplexityTextField);
-        complexityPanel.add(new JLabel("Space Complexity:"));
-        complexityPanel.add(spaceComplexityTextField);
-
-        add(buttonPanel, BorderLayout.NORTH);
-        add(complexityPanel, BorderLayout.SOUTH);
-    }
-
-    private void addListeners() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                convexHullAlgorithm = null;
-                SharedData.addPoint(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    private void runAlgorithm(ConvexHullAlgorithm algorithm) {
-        convexHullAlgorithm = algorithm;
-        AlgoTextField.setText(convexHullAlgorithm.getAlgorithmName());
-        long startTime = System.nanoTime();
-        repaint();
-        long endTime = System.nanoTime();
-        executionTime = endTime - startTime;
-        timeTextField.setText(String.valueOf(executionTime));
-        timeComplexityTextField.setText(convexHullAlgorithm.getTimeComplexity());
-        spaceComplexityTextField.setText(convexHullAlgorithm.getSpaceComplexity());
-    }
-
-    private void clear() {
-        points.clear();
-        executionTime = 0;
-        timeTextField.setText("");
-        timeComplexityTextField.setText("");
-        spaceComplexityTextField.setText("");
-        convexHullAlgorithm = null;
-        AlgoTextField.setText("");
-        repaint();
-    }
-
-    private void backToMenu() {
-        SwingUtilities.invokeLater(() -> {
-            MenuPage menuPage = new MenuPage();
-            menuPage.setVisible(true);
-            JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(this);
-            frame.dispose();
-        });
-    }
-
-    private List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        if (convexHullAlgorithm == null) {
-            return new ArrayList<>();
-        }
-        return convexHullAlgorithm.calculateConvexHull(inputPoints);
-    }
-
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
-
-        g2d.setColor(Color.RED);
-        for (Point2D point : points) {
-            int x = (int) point.getX();
-            int y = (int) point.getY();
-
-            g2d.fillOval(x - 3, y - 3, 6, 6);
-
-            String coordinates = "(" + x + ", " + y + ")";
-            g2d.drawString(coordinates, x + 7, y - 7);    
-        }
-
-        g2d.setColor(Color.BLUE);
-        List<Point2D> convexHull = calculateConvexHull(points);
-        for (int i = 0; i < convexHull.size() - 1; i++) {
-            Point2D p1 = convexHull.get(i);
-            Point2D p2 = convexHull.get(i + 1);
-            g2d.drawLine((int) p1.getX(), (int) p1.getY(), (int) p2.getX(), (int) p2.getY());
-        }
-
-        if (!convexHull.isEmpty()) {
-            Point2D firstPoint = convexHull.get(0);
-            Point2D lastPoint = convexHull.get(convexHull.size() - 1);
-            g2d.drawLine((int) firstPoint.getX(), (int) firstPoint.getY(), (int) lastPoint.getX(), (int) lastPoint.getY());
-        }
-    }
-
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            ConvexHullPage convexHullPage = new ConvexHullPage();
-            convexHullPage.setVisible(true);
-        });
-    }
-}
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConvexHullPage extends JPanel {
+    /** From this many points on, a click recomputes with the default algorithm instead of clearing the hull. */
+    private static final int LARGE_INPUT = 1_000;
+
+    private ConvexHullAlgorithm convexHullAlgorithm;
+    private long executionTime;
+    private JTextField timeTextField;
+    private JTextField timeComplexityTextField;
+    private JTextField spaceComplexityTextField;
+    private JTextField AlgoTextField;
+    private JCheckBox preFilterCheckBox;
+    private IncrementalConvexHull incrementalHull = new IncrementalConvexHull();
+    private HullResultCache hullCache = new HullResultCache();
+    private List<Point2D> convexHull = new ArrayList<>();
+    private Path2D hullPath = new Path2D.Double();
+    private PointLayer pointLayer = new PointLayer(Color.RED, Color.RED, 7, null);
+    private AlgorithmWorker worker = new AlgorithmWorker(this::setBusy);
+    private JProgressBar progressBar;
+    private JButton cancelButton;
+    private JLabel replayLabel;
+    private TraceReplay replay = new TraceReplay(this, status -> replayLabel.setText(status));
+
+    public ConvexHullPage() {
+        for (Point2D point : SharedData.snapshot()) {
+            incrementalHull.pointAdded(point);
+        }
+        SharedData.addListener(incrementalHull);
+        initUI();
+        addListeners();
+        if (SharedData.getStore().size() >= LARGE_INPUT) {
+            runAlgorithm(ConvexHullAlgorithm.defaultAlgorithm());
+        }
+    }
+
+    private void initUI() {
+        setLayout(new BorderLayout());
+
+        JButton bruteForceButton = new JButton("Brute Force");
+        bruteForceButton.addActionListener(e -> runAlgorithm(new BruteForceConvexHull()));
+        bruteForceButton.setBackground(Color.WHITE);  
+        bruteForceButton.setForeground(Color.BLACK);
+
+        JButton grahamScanButton = new JButton("Graham Scan");
+        grahamScanButton.addActionListener(e -> runAlgorithm(new GrahamScanConvexHull()));
+        grahamScanButton.setBackground(Color.WHITE);  
+        grahamScanButton.setForeground(Color.BLACK);
+
+        JButton jarvisButton = new JButton("Jarvis March");
+        jarvisButton.addActionListener(e -> runAlgorithm(new JarvisMarchConvexHull()));
+        jarvisButton.setBackground(Color.WHITE);  
+        jarvisButton.setForeground(Color.BLACK);
+
+        JButton quickHullButton = new JButton("QuickHull");
+        quickHullButton.addActionListener(e -> runAlgorithm(new QuickHullConvexHull()));
+        quickHullButton.setBackground(Color.WHITE);  
+        quickHullButton.setForeground(Color.BLACK);
+
+        JButton parallelQuickHullButton = new JButton("Parallel QuickHull");
+        parallelQuickHullButton.addActionListener(e -> runAlgorithm(new QuickHullConvexHull(true)));
+        parallelQuickHullButton.setBackground(Color.WHITE);  
+        parallelQuickHullButton.setForeground(Color.BLACK);
+
+        JButton monotoneChainButton = new JButton("Monotone Chain");
+        monotoneChainButton.addActionListener(e -> runAlgorithm(new MonotoneChainConvexHull()));
+        monotoneChainButton.setBackground(Color.WHITE);  
+        monotoneChainButton.setForeground(Color.BLACK);
+
+        JButton integerHullButton = new JButton("Integer Hull");
+        integerHullButton.addActionListener(e -> runAlgorithm(new IntegerConvexHull()));
+        integerHullButton.setBackground(Color.WHITE);  
+        integerHullButton.setForeground(Color.BLACK);
+
+        JButton chanButton = new JButton("Chan's");
+        chanButton.addActionListener(e -> runAlgorithm(new ChanConvexHull()));
+        chanButton.setBackground(Color.WHITE);  
+        chanButton.setForeground(Color.BLACK);
+
+        JButton divideConquerButton = new JButton("Divide & Conquer");
+        divideConquerButton.addActionListener(e -> runAlgorithm(new DivideConquerConvexHull()));
+        divideConquerButton.setBackground(Color.WHITE);  
+        divideConquerButton.setForeground(Color.BLACK);
+
+        JButton incrementalButton = new JButton("Incremental");
+        incrementalButton.addActionListener(e -> runAlgorithm(incrementalHull));
+        incrementalButton.setBackground(Color.WHITE);  
+        incrementalButton.setForeground(Color.BLACK);
+
+        JButton replayButton = new JButton("Replay");
+        replayButton.addActionListener(e -> replay());
+        replayButton.setBackground(Color.WHITE);  
+        replayButton.setForeground(Color.BLACK);
+        replayButton.setEnabled(StepTrace.ENABLED);
+        replayButton.setToolTipText(StepTrace.ENABLED ? "Replay the steps of the current algorithm"
+                : "Start with -Dgeometry.trace=true to record steps for replay");
+
+        JButton clearButton = new JButton("Clear");
+        clearButton.addActionListener(e -> clear());
+        clearButton.setBackground(Color.BLACK);  
+        clearButton.setForeground(Color.WHITE);
+
+        JButton backToMenuButton = new JButton("Back to Menu");
+        backToMenuButton.addActionListener(e -> backToMenu());
+        backToMenuButton.setBackground(Color.BLACK);  
+        backToMenuButton.setForeground(Color.WHITE);
+
+        JPanel buttonPanel = new JPanel(new GridLayout(2, 1)); 
+        JPanel buttons = new JPanel();
+        buttons.add(bruteForceButton);
+        buttons.add(grahamScanButton);
+        buttons.add(jarvisButton);
+        buttons.add(quickHullButton);
+        buttons.add(parallelQuickHullButton);
+        buttons.add(chanButton);
+        buttons.add(monotoneChainButton);
+        buttons.add(integerHullButton);
+        buttons.add(divideConquerButton);
+        buttons.add(incrementalButton);
+        buttons.add(replayButton);
+        buttons.add(clearButton);
+        buttons.add(backToMenuButton);
+
+        JPanel textBoxPanel = new JPanel();
+        AlgoTextField = new JTextField(10);
+        AlgoTextField.setEditable(false);
+        textBoxPanel.add(new JLabel("Current Algorithm:"));
+        textBoxPanel.add(AlgoTextField);
+        preFilterCheckBox = new JCheckBox("Akl-Toussaint pre-filter");
+        textBoxPanel.add(preFilterCheckBox);
+        replayLabel = new JLabel();
+        textBoxPanel.add(replayLabel);
+
+        buttonPanel.add(buttons);
+        buttonPanel.add(textBoxPanel);
+
+        timeTextField = new JTextField(10);
+        timeTextField.setEditable(false);
+        timeComplexityTextField = new JTextField(10);
+        timeComplexityTextField.setEditable(false);
+        spaceComplexityTextField = new JTextField(10);
+        spaceComplexityTextField.setEditable(false);
+
+        JPanel complexityPanel = new JPanel();
+        complexityPanel.add(new JLabel("Execution Time (ns):"));
+        complexityPanel.add(timeTextField);
+        complexityPanel.add(new JLabel("Time Complexity:"));
+        complexityPanel.add(timeComplexityTextField);
+        complexityPanel.add(new JLabel("Space Complexity:"));
+        complexityPanel.add(spaceComplexityTextField);
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> worker.cancel());
+        cancelButton.setEnabled(false);
+        complexityPanel.add(progressBar);
+        complexityPanel.add(cancelButton);
+
+        add(buttonPanel, BorderLayout.NORTH);
+        add(complexityPanel, BorderLayout.SOUTH);
+    }
+
+    private void addListeners() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                SharedData.addPoint(e.getPoint());
+                if (convexHullAlgorithm == incrementalHull) {
+                    updateConvexHull();
+                } else if (SharedData.getStore().size() >= LARGE_INPUT) {
+                    runAlgorithm(ConvexHullAlgorithm.defaultAlgorithm());
+                } else {
+                    convexHullAlgorithm = null;
+                    updateConvexHull();
+                }
+            }
+        });
+    }
+
+    private void runAlgorithm(ConvexHullAlgorithm algorithm) {
+        if (preFilterCheckBox.isSelected() && algorithm != incrementalHull) {
+            algorithm = new PreFilteredConvexHull(algorithm);
+        }
+        convexHullAlgorithm = algorithm;
+        AlgoTextField.setText(convexHullAlgorithm.getAlgorithmName());
+        timeTextField.setText("");
+        timeComplexityTextField.setText(convexHullAlgorithm.getTimeComplexity());
+        spaceComplexityTextField.setText(convexHullAlgorithm.getSpaceComplexity());
+        updateConvexHull();
+    }
+
+    private void updateConvexHull() {
+        replay.stop();
+        if (convexHullAlgorithm == null) {
+            worker.cancel();
+            setConvexHull(new ArrayList<>());
+            repaint();
+            return;
+        }
+
+        if (convexHullAlgorithm == incrementalHull) {
+            worker.cancel();
+            setConvexHull(incrementalHull.getConvexHull());
+            repaint();
+            return;
+        }
+
+        ConvexHullAlgorithm algorithm = convexHullAlgorithm;
+        PointStore.Snapshot snapshot = SharedData.snapshot();
+        worker.submit(() -> hullCache.get(algorithm, snapshot.getVersion(), snapshot), (hull, elapsed) -> {
+            setConvexHull(hull);
+            executionTime = elapsed;
+            timeTextField.setText(String.valueOf(executionTime));
+            repaint();
+        });
+    }
+
+    /**
+     * Keeps the hull edges as one closed path, so painting them is a single
+     * draw call instead of a drawLine per edge.
+     */
+    private void setConvexHull(List<Point2D> hull) {
+        convexHull = hull;
+        hullPath = new Path2D.Double(Path2D.WIND_NON_ZERO, hull.size() + 1);
+        for (int i = 0; i < hull.size(); i++) {
+            Point2D point = hull.get(i);
+            if (i == 0) {
+                hullPath.moveTo((int) point.getX(), (int) point.getY());
+            } else {
+                hullPath.lineTo((int) point.getX(), (int) point.getY());
+            }
+        }
+        if (!hull.isEmpty()) {
+            hullPath.closePath();
+        }
+    }
+
+    /**
+     * Reruns the current algorithm with the step trace cleared and plays the
+     * recording back. A pre-filtered algorithm is traced without its filter,
+     * so the recorded indices are those of the page's points.
+     */
+    private void replay() {
+        ConvexHullAlgorithm algorithm = convexHullAlgorithm;
+        if (algorithm == null || algorithm == incrementalHull) {
+            return;
+        }
+        if (algorithm instanceof PreFilteredConvexHull) {
+            algorithm = ((PreFilteredConvexHull) algorithm).getAlgorithm();
+        }
+
+        ConvexHullAlgorithm traced = algorithm;
+        PointStore.Snapshot snapshot = SharedData.snapshot();
+        replay.stop();
+        worker.submit(() -> {
+            StepTrace.clear();
+            traced.calculateConvexHull(snapshot.xs(), snapshot.ys());
+            return StepTrace.snapshot();
+        }, (recording, elapsed) -> {
+            replay.start(snapshot, recording);
+            repaint();
+        });
+    }
+
+    private void setBusy(boolean busy) {
+        progressBar.setVisible(busy);
+        cancelButton.setEnabled(busy);
+        revalidate();
+    }
+
+    private void clear() {
+        worker.cancel();
+        replay.stop();
+        SharedData.clear();
+        setConvexHull(new ArrayList<>());
+        executionTime = 0;
+        timeTextField.setText("");
+        timeComplexityTextField.setText("");
+        spaceComplexityTextField.setText("");
+        convexHullAlgorithm = null;
+        AlgoTextField.setText("");
+        repaint();
+    }
+
+    private void backToMenu() {
+        SwingUtilities.invokeLater(() -> {
+            MenuPage menuPage = new MenuPage();
+            menuPage.setVisible(true);
+            JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(this);
+            SharedData.removeListener(incrementalHull);
+            worker.shutdown();
+            replay.stop();
+            frame.dispose();
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        PointStore.Snapshot points = SharedData.snapshot();
+        Graphics2D g2d = (Graphics2D) g;
+        Instrumentation.time("Convex Hull Page", "paint", points.size(), () -> {
+            pointLayer.paint(g2d, getWidth(), getHeight(), points, points.getGeneration());
+
+            if (replay.isActive()) {
+                replay.paint(g2d);
+            } else {
+                g2d.setColor(Color.BLUE);
+                g2d.draw(hullPath);
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            ConvexHullPage convexHullPage = new ConvexHullPage();
+            convexHullPage.setVisible(true);
+        });
+    }
+}
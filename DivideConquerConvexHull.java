@@ -0,0 +1,150 @@
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+public class DivideConquerConvexHull implements ConvexHullAlgorithm {
+    private static final int SEQUENTIAL_CUTOFF = 1 << 12;
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        double[] sortedXs = xs.clone();
+        double[] sortedYs = ys.clone();
+        int[] order = PointArrays.identity(n);
+        Instrumentation.time(getAlgorithmName(), "sort", n, () -> IndexSort.parallelSortPoints(sortedXs, sortedYs, order, 0, n));
+        Cancellation.check();
+
+        Chains chains;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "merge", n)) {
+            HullTask task = new HullTask(sortedXs, sortedYs, 0, n, Thread.currentThread());
+            chains = n <= SEQUENTIAL_CUTOFF ? task.compute() : Cancellation.invoke(task);
+            phase.setResultSize(chains.lower.length + chains.upper.length);
+        }
+
+        int[] lower = chains.lower;
+        int[] upper = chains.upper;
+        int size = lower.length + Math.max(0, upper.length - 2);
+        int[] hull = new int[size];
+        int k = 0;
+        for (int position : lower) {
+            hull[k++] = order[position];
+        }
+        for (int i = upper.length - 2; i > 0; i--) {
+            hull[k++] = order[upper[i]];
+        }
+        return hull;
+    }
+
+    /**
+     * Lower and upper hull chains of a sorted range, both listed left to right
+     * as positions into the sorted coordinate arrays.
+     */
+    private static final class Chains {
+        final int[] lower;
+        final int[] upper;
+
+        Chains(int[] lower, int[] upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+    }
+
+    private static final class HullTask extends RecursiveTask<Chains> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+        private final Thread owner;
+
+        HullTask(double[] xs, double[] ys, int from, int to, Thread owner) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.owner = owner;
+        }
+
+        @Override
+        protected Chains compute() {
+            Cancellation.check(owner);
+            if (to - from <= SEQUENTIAL_CUTOFF) {
+                return new Chains(MonotoneChainConvexHull.chain(xs, ys, from, to, 1),
+                        MonotoneChainConvexHull.chain(xs, ys, from, to, -1));
+            }
+
+            int mid = (from + to) >>> 1;
+            HullTask left = new HullTask(xs, ys, from, mid, owner);
+            HullTask right = new HullTask(xs, ys, mid, to, owner);
+            right.fork();
+            Chains leftChains = left.compute();
+            Chains rightChains = right.join();
+
+            return new Chains(merge(xs, ys, leftChains.lower, rightChains.lower, 1),
+                    merge(xs, ys, leftChains.upper, rightChains.upper, -1));
+        }
+    }
+
+    /**
+     * Joins two x-separated chains through their common tangent (the lower
+     * tangent for sign 1, the upper one for -1) by walking inwards from the
+     * facing ends. Linear in the size of the two chains.
+     */
+    static int[] merge(double[] xs, double[] ys, int[] left, int[] right, int sign) {
+        int i = left.length - 1;
+        int j = 0;
+
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            while (i > 0 && sign * Orientation.orient(xs, ys, left[i - 1], left[i], right[j]) <= 0) {
+                i--;
+                moved = true;
+            }
+            while (j < right.length - 1 && sign * Orientation.orient(xs, ys, left[i], right[j], right[j + 1]) <= 0) {
+                j++;
+                moved = true;
+            }
+        }
+
+        int[] merged = new int[i + 1 + right.length - j];
+        System.arraycopy(left, 0, merged, 0, i + 1);
+        System.arraycopy(right, j, merged, i + 1, right.length - j);
+        return merged;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Divide and Conquer";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+}
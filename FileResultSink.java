@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes each result as text lines through a file channel, encoding into one
+ * reusable buffer instead of building a String per line.
+ */
+public class FileResultSink implements ResultSink {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    @Override
+    public <T> void write(String target, List<T> records, RecordFormat<T> format) {
+        try (Instrumentation.Phase phase = Instrumentation.begin("File Sink", "write", records.size());
+             FileChannel channel = FileChannel.open(Paths.get(target), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            StringBuilder line = new StringBuilder(64);
+            for (T record : records) {
+                line.setLength(0);
+                format.format(record, line);
+                line.append(LINE_SEPARATOR);
+                if (buffer.remaining() < line.length()) {
+                    drain(channel, buffer);
+                }
+                for (int i = 0; i < line.length(); i++) {
+                    buffer.put((byte) line.charAt(i));
+                }
+            }
+            drain(channel, buffer);
+            phase.setResultSize(records.size());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
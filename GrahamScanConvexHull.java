@@ -1,147 +1,191 @@
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Stack;
-
-public class GrahamScanConvexHull extends JPanel implements ConvexHullAlgorithm{
-
-    private List<Point2D> points = new ArrayList<>();
-
-    public GrahamScanConvexHull() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                points.add(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    @Override
-    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        int n = inputPoints.size();
-        if (n < 3) {
-            return inputPoints;
-        }
-
-        Point2D startPoint = inputPoints.get(0);
-        for (Point2D point : inputPoints) {
-            if (point.getY() < startPoint.getY()
-                    || (point.getY() == startPoint.getY() && point.getX() < startPoint.getX())) {
-                startPoint = point;
-            }
-        }
-
-        Collections.sort(inputPoints, new PolarAngleComparator(startPoint));
-
-        Stack<Point2D> convexHull = new Stack<>();
-        convexHull.push(inputPoints.get(0));
-        convexHull.push(inputPoints.get(1));
-        convexHull.push(inputPoints.get(2));
-
-        for (int i = 3; i < inputPoints.size(); i++) {
-            while (orientation(nextToTop(convexHull), convexHull.peek(), inputPoints.get(i)) != 2) {
-                convexHull.pop();
-            }
-            convexHull.push(inputPoints.get(i));
-        }
-
-        writeConvexHullToFile(convexHull, "convex_hull_output.txt");
-        
-        return new ArrayList<>(convexHull);
-    }
-
-    private Point2D nextToTop(Stack<Point2D> stack) {
-        Point2D top = stack.pop();
-        Point2D nextToTop = stack.peek();
-        stack.push(top);
-        return nextToTop;
-    }
-
-    private int orientation(Point2D p, Point2D q, Point2D r) {
-        double val = (q.getY() - p.getY()) * (r.getX() - q.getX()) -
-                     (q.getX() - p.getX()) * (r.getY() - q.getY());
-
-        if (val == 0) return 0; 
-        return (val > 0) ? 1 : 2; 
-    }
-
-    private static class PolarAngleComparator implements Comparator<Point2D> {
-        private Point2D startPoint;
-
-        public PolarAngleComparator(Point2D startPoint) {
-            this.startPoint = startPoint;
-        }
-
-        @Override
-        public int compare(Point2D p1, Point2D p2) {
-            double angle1 = Math.atan2(p1.getY() - startPoint.getY(), p1.getX() - startPoint.getX());
-            double angle2 = Math.atan2(p2.getY() - startPoint.getY(), p2.getX() - startPoint.getX());
-
-            if (angle1 < angle2) return -1;
-            if (angle1 > angle2) return 1;
-            return Double.compare(p1.distance(startPoint), p2.distance(startPoint));
-        }
-    }
-
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
-
-        g2d.setColor(Color.RED);
-        for (Point2D point : points) {
-            g2d.fillOval((int) point.getX() - 3, (int) point.getY() - 3, 6, 6);
-        }
-
-        g2d.setColor(Color.BLUE);
-        List<Point2D> convexHull = calculateConvexHull(points);
-        for (int i = 0; i < convexHull.size() - 1; i++) {
-            Point2D p1 = convexHull.get(i);
-            Point2D p2 = convexHull.get(i + 1);
-            g2d.drawLine((int) p1.getX(), (int) p1.getY(), (int) p2.getX(), (int) p2.getY());
-        }
-
-        if (!convexHull.isEmpty()) {
-            Point2D firstPoint = convexHull.get(0);
-            Point2D lastPoint = convexHull.get(convexHull.size() - 1);
-            g2d.drawLine((int) firstPoint.getX(), (int) firstPoint.getY(), (int) lastPoint.getX(), (int) lastPoint.getY());
-        }
-    }
-
-    private void writeConvexHullToFile(List<Point2D> convexHull, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Point2D point : convexHull) {
-                writer.write(point.getX() + " , " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "Graham Scan";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(n log n)"; 
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(n)"; 
-    }
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GrahamScanConvexHull extends JPanel implements ConvexHullAlgorithm{
+
+    private List<Point2D> points = new ArrayList<>();
+
+    public GrahamScanConvexHull() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                points.add(e.getPoint());
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+        
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int startPoint = 0;
+        for (int i = 1; i < n; i++) {
+            if (ys[i] < ys[startPoint]
+                    || (ys[i] == ys[startPoint] && xs[i] < xs[startPoint])) {
+                startPoint = i;
+            }
+        }
+
+        int pivot = startPoint;
+        int[] sorted = Instrumentation.time(getAlgorithmName(), "sort", n, () -> sortByAngle(xs, ys, pivot));
+        Cancellation.check();
+
+        int[] convexHull = new int[n];
+        int top = 0;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "scan", n)) {
+            convexHull[top++] = sorted[0];
+            if (StepTrace.ENABLED) {
+                StepTrace.record(StepTrace.PUSH, sorted[0]);
+            }
+
+            for (int i = 1; i < n; i++) {
+                if ((i & Cancellation.INTERVAL_MASK) == 0) {
+                    Cancellation.check();
+                }
+                while (top > 1 && orientation(xs, ys, convexHull[top - 2], convexHull[top - 1], sorted[i]) != 2) {
+                    top--;
+                    if (StepTrace.ENABLED) {
+                        StepTrace.record(StepTrace.POP, convexHull[top]);
+                    }
+                }
+                convexHull[top++] = sorted[i];
+                if (StepTrace.ENABLED) {
+                    StepTrace.record(StepTrace.PUSH, sorted[i]);
+                }
+            }
+            phase.setResultSize(top);
+        }
+
+        return Arrays.copyOf(convexHull, top);
+    }
+
+    /**
+     * Orders the points by angle around {@code startPoint}, nearer first on
+     * ties.
+     */
+    private int[] sortByAngle(double[] xs, double[] ys, int startPoint) {
+        int n = xs.length;
+        double[] angles = new double[n];
+        double[] distances = new double[n];
+        for (int i = 0; i < n; i++) {
+            if ((i & Cancellation.INTERVAL_MASK) == 0) {
+                Cancellation.check();
+            }
+            double dx = xs[i] - xs[startPoint];
+            double dy = ys[i] - ys[startPoint];
+            angles[i] = Math.atan2(dy, dx);
+            distances[i] = dx * dx + dy * dy;
+        }
+
+        int[] sorted = IndexSort.sort(n, angles, distances);
+        repairOrder(xs, ys, startPoint, sorted);
+        return sorted;
+    }
+
+    /**
+     * atan2 can misorder points whose angles differ by less than its rounding
+     * error. Insertion sort with the exact comparator puts them right; on the
+     * almost sorted output of the angle sort it runs in near-linear time.
+     */
+    private void repairOrder(double[] xs, double[] ys, int startPoint, int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if ((i & Cancellation.INTERVAL_MASK) == 0) {
+                Cancellation.check();
+            }
+            int current = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && comparePolar(xs, ys, startPoint, sorted[j], current) > 0) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = current;
+        }
+    }
+
+    private int comparePolar(double[] xs, double[] ys, int startPoint, int a, int b) {
+        int orientation = Orientation.orient(xs, ys, startPoint, a, b);
+        if (orientation != Orientation.COLLINEAR) {
+            return -orientation;
+        }
+        double da = (xs[a] - xs[startPoint]) * (xs[a] - xs[startPoint]) + (ys[a] - ys[startPoint]) * (ys[a] - ys[startPoint]);
+        double db = (xs[b] - xs[startPoint]) * (xs[b] - xs[startPoint]) + (ys[b] - ys[startPoint]) * (ys[b] - ys[startPoint]);
+        return Double.compare(da, db);
+    }
+
+    private int orientation(double[] xs, double[] ys, int p, int q, int r) {
+        switch (Orientation.orient(xs, ys, p, q, r)) {
+            case Orientation.CLOCKWISE:
+                return 1;
+            case Orientation.COUNTERCLOCKWISE:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Graphics2D g2d = (Graphics2D) g;
+
+        g2d.setColor(Color.RED);
+        for (Point2D point : points) {
+            g2d.fillOval((int) point.getX() - 3, (int) point.getY() - 3, 6, 6);
+        }
+
+        g2d.setColor(Color.BLUE);
+        List<Point2D> convexHull = calculateConvexHull(points);
+        for (int i = 0; i < convexHull.size() - 1; i++) {
+            Point2D p1 = convexHull.get(i);
+            Point2D p2 = convexHull.get(i + 1);
+            g2d.drawLine((int) p1.getX(), (int) p1.getY(), (int) p2.getX(), (int) p2.getY());
+        }
+
+        if (!convexHull.isEmpty()) {
+            Point2D firstPoint = convexHull.get(0);
+            Point2D lastPoint = convexHull.get(convexHull.size() - 1);
+            g2d.drawLine((int) firstPoint.getX(), (int) firstPoint.getY(), (int) lastPoint.getX(), (int) lastPoint.getY());
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Graham Scan";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n)"; 
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)"; 
+    }
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform-grid spatial hash. Each segment is bucketed into the cells it
+ * crosses and only pairs sharing a cell are tested, one fork/join task per run
+ * of cells. A pair sharing several cells is reported only by the cell that owns
+ * its intersection, so no global deduplication is needed. Reports the same
+ * pairs as {@link CCWLineIntersection}, in the same order.
+ */
+public class GridLineIntersection implements LineIntersectionAlgorithm {
+    private static final int CELLS_PER_TASK = 256;
+    private static final int MAX_CELLS_PER_SEGMENT = 4;
+
+    @Override
+    public List<Line2D> calculateIntersections(List<Line2D> lines) {
+        List<Line2D> intersections = new ArrayList<>();
+
+        if (lines.size() >= 2) {
+            try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "intersect", lines.size())) {
+                Grid grid = new Grid(lines);
+                Cancellation.check();
+                PairBuffer pairs = Cancellation.invoke(grid.new CellTask(0, grid.cellCount()));
+                Cancellation.check();
+
+                long[] sorted = pairs.toArray();
+                Arrays.parallelSort(sorted);
+                for (long pair : sorted) {
+                    Point2D intersectionPoint = CCWLineIntersection.calculateIntersectionPoint(lines.get(PairBuffer.first(pair)), lines.get(PairBuffer.second(pair)));
+                    intersections.add(new Line2D.Double(intersectionPoint, intersectionPoint));
+                }
+                phase.setResultSize(intersections.size());
+            }
+        }
+
+        ResultSinks.current().write("line_intersection_output.txt", intersections, ResultSink.INTERSECTION_POINTS);
+
+        return intersections;
+    }
+
+    private static final class Grid {
+        private final List<Line2D> lines;
+        private final double[] minXs, minYs, maxXs, maxYs, x1s, y1s, slopes;
+        private final double originX, originY;
+        private final double cellSize, inverseCellSize;
+        private final int columns, rows;
+        private final int[] cellStart;
+        private final int[] cellSegments;
+        private final int[] firstColumns, lastColumns;
+        private final boolean[] singleCell;
+
+        Grid(List<Line2D> lines) {
+            this.lines = lines;
+            int n = lines.size();
+            minXs = new double[n];
+            minYs = new double[n];
+            maxXs = new double[n];
+            maxYs = new double[n];
+            x1s = new double[n];
+            y1s = new double[n];
+            slopes = new double[n];
+
+            double left = Double.POSITIVE_INFINITY, bottom = Double.POSITIVE_INFINITY;
+            double right = Double.NEGATIVE_INFINITY, top = Double.NEGATIVE_INFINITY;
+            double totalLength = 0;
+            for (int i = 0; i < n; i++) {
+                Line2D line = lines.get(i);
+                minXs[i] = Math.min(line.getX1(), line.getX2());
+                maxXs[i] = Math.max(line.getX1(), line.getX2());
+                minYs[i] = Math.min(line.getY1(), line.getY2());
+                maxYs[i] = Math.max(line.getY1(), line.getY2());
+                x1s[i] = line.getX1();
+                y1s[i] = line.getY1();
+                slopes[i] = (line.getY2() - line.getY1()) / (line.getX2() - line.getX1());
+                left = Math.min(left, minXs[i]);
+                right = Math.max(right, maxXs[i]);
+                bottom = Math.min(bottom, minYs[i]);
+                top = Math.max(top, maxYs[i]);
+                totalLength += Math.hypot(line.getX2() - line.getX1(), line.getY2() - line.getY1());
+            }
+            originX = left;
+            originY = bottom;
+
+            double width = right - left;
+            double height = top - bottom;
+            // At least the mean segment length, so the cells crossed add up
+            // to O(n) and cellStart cannot overflow.
+            double size = Math.max(totalLength / n, Math.sqrt(width * height / n));
+            if (!(size > 0)) {
+                size = Math.max(Math.max(width, height), 1);
+            }
+            while ((width / size + 1) * (height / size + 1) > (double) MAX_CELLS_PER_SEGMENT * n) {
+                size *= 2;
+            }
+            cellSize = size;
+            inverseCellSize = 1 / cellSize;
+            columns = (int) (width * inverseCellSize) + 1;
+            rows = (int) (height * inverseCellSize) + 1;
+
+            firstColumns = new int[n];
+            lastColumns = new int[n];
+            singleCell = new boolean[n];
+            cellStart = new int[columns * rows + 1];
+            IntConsumer count = cell -> cellStart[cell + 1]++;
+            for (int i = 0; i < n; i++) {
+                firstColumns[i] = column(minXs[i]);
+                lastColumns[i] = column(maxXs[i]);
+                long span = rowSpan(i, firstColumns[i]);
+                singleCell[i] = firstColumns[i] == lastColumns[i] && (int) (span >>> 32) == (int) span;
+                forEachCell(i, count);
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellStart[cell + 1] += cellStart[cell];
+            }
+            cellSegments = new int[cellStart[columns * rows]];
+            int[] cursor = Arrays.copyOf(cellStart, columns * rows);
+            for (int i = 0; i < n; i++) {
+                int segment = i;
+                forEachCell(i, cell -> cellSegments[cursor[cell]++] = segment);
+            }
+        }
+
+        /**
+         * Walks segment {@code i} column by column and visits, in each column,
+         * the rows its part of the segment spans. Both ends of that part are
+         * widened by a millionth of a cell, so a segment running along a cell
+         * boundary or through a corner is put into every cell it touches.
+         */
+        private void forEachCell(int i, IntConsumer action) {
+            for (int column = firstColumns[i]; column <= lastColumns[i]; column++) {
+                long span = rowSpan(i, column);
+                for (int row = (int) (span >>> 32); row <= (int) span; row++) {
+                    action.accept(row * columns + column);
+                }
+            }
+        }
+
+        /** First and last row segment {@code i} visits in {@code column}, packed as (first << 32) | last. */
+        private long rowSpan(int i, int column) {
+            double low = minYs[i];
+            double high = maxYs[i];
+            if (firstColumns[i] != lastColumns[i]) {
+                double pad = cellSize * 1e-6;
+                double from = Math.max(minXs[i], originX + column * cellSize - pad);
+                double to = Math.min(maxXs[i], originX + (column + 1) * cellSize + pad);
+                double yFrom = y1s[i] + (from - x1s[i]) * slopes[i];
+                double yTo = y1s[i] + (to - x1s[i]) * slopes[i];
+                low = Math.max(minYs[i], Math.min(yFrom, yTo) - pad);
+                high = Math.min(maxYs[i], Math.max(yFrom, yTo) + pad);
+            }
+            return (long) row(low) << 32 | row(high);
+        }
+
+        /** Whether {@link #forEachCell} puts segment {@code i} into the cell at {@code column, row}. */
+        private boolean covers(int i, int column, int row) {
+            if (column < firstColumns[i] || column > lastColumns[i]) {
+                return false;
+            }
+            long span = rowSpan(i, column);
+            return row >= (int) (span >>> 32) && row <= (int) span;
+        }
+
+        /**
+         * Whether {@code cell}, which holds both of the intersecting segments
+         * i < j, is the one that reports them: the cell holding their
+         * intersection point, clamped to the overlap of their bounding boxes.
+         * Rounding, or a collinear overlap with no single point, can put that
+         * cell outside one of the traversals; then the lowest-numbered cell
+         * both share owns the pair. Every shared cell agrees on the owner, so
+         * each pair is stored once. A segment in a single cell shares only that
+         * one, which then owns all its pairs.
+         */
+        private boolean owns(int cell, int i, int j) {
+            if (singleCell[i] || singleCell[j]) {
+                return true;
+            }
+            Point2D point = CCWLineIntersection.calculateIntersectionPoint(lines.get(i), lines.get(j));
+            if (!Double.isNaN(point.getX()) && !Double.isNaN(point.getY())) {
+                double x = Math.min(Math.max(point.getX(), Math.max(minXs[i], minXs[j])), Math.min(maxXs[i], maxXs[j]));
+                double y = Math.min(Math.max(point.getY(), Math.max(minYs[i], minYs[j])), Math.min(maxYs[i], maxYs[j]));
+                int column = column(x);
+                int row = row(y);
+                if (row * columns + column == cell) {
+                    return true;
+                }
+                if (covers(i, column, row) && covers(j, column, row)) {
+                    return false;
+                }
+            }
+            return lowestSharedCell(i, j) == cell;
+        }
+
+        private int lowestSharedCell(int i, int j) {
+            int[] lowest = { Integer.MAX_VALUE };
+            forEachCell(i, cell -> {
+                if (cell < lowest[0] && covers(j, cell % columns, cell / columns)) {
+                    lowest[0] = cell;
+                }
+            });
+            return lowest[0];
+        }
+
+        int cellCount() {
+            return columns * rows;
+        }
+
+        private int column(double x) {
+            return Math.min(columns - 1, (int) ((x - originX) * inverseCellSize));
+        }
+
+        private int row(double y) {
+            return Math.min(rows - 1, (int) ((y - originY) * inverseCellSize));
+        }
+
+        private void scan(int cell, PairBuffer pairs) {
+            int from = cellStart[cell];
+            int to = cellStart[cell + 1];
+            for (int a = from; a < to; a++) {
+                int i = cellSegments[a];
+                for (int b = a + 1; b < to; b++) {
+                    int j = cellSegments[b];
+                    if (maxXs[i] < minXs[j] || maxXs[j] < minXs[i] || maxYs[i] < minYs[j] || maxYs[j] < minYs[i]) {
+                        continue;
+                    }
+                    int first = Math.min(i, j);
+                    int second = Math.max(i, j);
+                    if (CCWLineIntersection.intersects(lines.get(first), lines.get(second)) && owns(cell, first, second)) {
+                        pairs.add(PairBuffer.pack(first, second));
+                    }
+                }
+            }
+        }
+
+        private final class CellTask extends RecursiveTask<PairBuffer> {
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            CellTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected PairBuffer compute() {
+                if (to - from <= CELLS_PER_TASK) {
+                    PairBuffer pairs = new PairBuffer();
+                    for (int cell = from; cell < to; cell++) {
+                        scan(cell, pairs);
+                    }
+                    return pairs;
+                }
+
+                int mid = (from + to) >>> 1;
+                CellTask left = new CellTask(from, mid);
+                CellTask right = new CellTask(mid, to);
+                right.fork();
+                PairBuffer leftPairs = left.compute();
+                return leftPairs.addAll(right.join());
+            }
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Uniform Grid";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n + k) expected";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n + k)";
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.Random;
+
+/**
+ * Compares QuickHull, sequential and parallel, against monotone chain on
+ * degenerate inputs: exactly and nearly collinear points, duplicates, and
+ * cocircular points far from the origin. Both must return the same vertex
+ * coordinates in the same counterclockwise order; any difference is printed
+ * and the exit status is 1.
+ *
+ * <pre>java -Dgeometry.output=none HullCheck [cases]</pre>
+ */
+public class HullCheck {
+    private static final long SEED = 42;
+    private static final int LARGE = 300_000;
+
+    public static void main(String[] args) {
+        int cases = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        ConvexHullAlgorithm reference = new MonotoneChainConvexHull();
+        ConvexHullAlgorithm[] algorithms = { new QuickHullConvexHull(), new QuickHullConvexHull(true) };
+
+        Random random = new Random(SEED);
+        int failures = 0;
+        for (int i = 0; i <= cases; i++) {
+            int n = i < cases ? 3 + random.nextInt(300) : LARGE;
+            int kind = i % 5;
+            double[][] points = generate(random, kind, n);
+            int[] expected = reference.calculateConvexHull(points[0], points[1]);
+            for (ConvexHullAlgorithm algorithm : algorithms) {
+                int[] actual = algorithm.calculateConvexHull(points[0].clone(), points[1].clone());
+                if (!sameVertices(points, expected, actual)) {
+                    failures++;
+                    System.out.println(algorithm.getAlgorithmName() + ": case " + i + " (kind " + kind + ", n = " + n
+                            + ") returned " + actual.length + " vertices, monotone chain " + expected.length);
+                }
+            }
+        }
+
+        System.out.println(failures == 0 ? "All " + (cases + 1) + " cases match" : failures + " mismatches");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /** Compares coordinates, since either hull may pick any copy of a duplicate point. */
+    private static boolean sameVertices(double[][] points, int[] expected, int[] actual) {
+        if (expected.length != actual.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (points[0][expected[i]] != points[0][actual[i]] || points[1][expected[i]] != points[1][actual[i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[][] generate(Random random, int kind, int n) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = random.nextDouble();
+            switch (kind) {
+                case 0:
+                    // a short segment with y off by at most an ulp
+                    xs[i] = 0.5 + t * 1e-3;
+                    ys[i] = 0.5 + t * 3e-3 + (random.nextInt(3) - 1) * Math.ulp(1.0);
+                    break;
+                case 1:
+                    // a long line with unit noise
+                    xs[i] = 1e8 * t;
+                    ys[i] = 3 * xs[i] + random.nextInt(3);
+                    break;
+                case 2:
+                    // exactly collinear integers, many of them repeated
+                    xs[i] = random.nextInt(50);
+                    ys[i] = 2 * xs[i] - 7;
+                    break;
+                case 3:
+                    // cocircular points far from the origin
+                    double angle = t * 2 * Math.PI;
+                    xs[i] = 12345.678 + 1e3 * Math.cos(angle);
+                    ys[i] = 76543.21 + 1e3 * Math.sin(angle);
+                    break;
+                default:
+                    // a small square lattice, so hull edges carry collinear points
+                    xs[i] = random.nextInt(8);
+                    ys[i] = random.nextInt(8);
+                    break;
+            }
+        }
+        return new double[][] { xs, ys };
+    }
+}
@@ -0,0 +1,61 @@
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last hull computed, keyed on the algorithm's name (which also
+ * tells a pre-filtered run apart) and the {@link SharedData} version it was
+ * computed for. Running the same algorithm again on unchanged points, such as
+ * pressing its button twice, returns the stored hull. Hits and misses across
+ * all pages are part of the -Dgeometry.metrics.dump report.
+ */
+public class HullResultCache {
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private String algorithmName;
+    private long version = -1;
+    private List<Point2D> hull;
+
+    /**
+     * Looks up and publishes under the lock but computes outside it, so a
+     * request that supersedes a running one does not wait for it to finish.
+     */
+    public List<Point2D> get(ConvexHullAlgorithm algorithm, long version, List<Point2D> points) {
+        String name = algorithm.getAlgorithmName();
+        synchronized (this) {
+            if (name.equals(algorithmName) && version == this.version) {
+                HITS.increment();
+                return hull;
+            }
+        }
+        MISSES.increment();
+
+        List<Point2D> result = algorithm.calculateConvexHull(points);
+
+        synchronized (this) {
+            hull = result;
+            algorithmName = name;
+            this.version = version;
+        }
+        return result;
+    }
+
+    public synchronized void invalidate() {
+        algorithmName = null;
+        version = -1;
+        hull = null;
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    public static String report() {
+        return String.format("hull cache: %d hits, %d misses%n", getHits(), getMisses());
+    }
+}
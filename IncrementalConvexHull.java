@@ -0,0 +1,198 @@
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Insertion-only dynamic hull. The lower and upper chains live in balanced
+ * trees keyed by x, so a point inside the current hull is rejected with two
+ * neighbour lookups and a point on the hull is spliced in with amortised
+ * O(log n) work.
+ */
+public class IncrementalConvexHull implements ConvexHullAlgorithm, PointListener {
+    private final Chain lower = new Chain(1);
+    private final Chain upper = new Chain(-1);
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private int count;
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "insert", n)) {
+            IncrementalConvexHull hull = new IncrementalConvexHull();
+            for (int i = 0; i < n; i++) {
+                hull.addPoint(xs[i], ys[i]);
+            }
+            int[] indices = hull.getHullIndices();
+            phase.setResultSize(indices.length);
+            return indices;
+        }
+    }
+
+    /**
+     * Adds a point and returns whether the hull changed. Points are numbered
+     * in insertion order, which is what {@link #getHullIndices()} reports.
+     */
+    public boolean addPoint(double x, double y) {
+        if (count == xs.length) {
+            xs = Arrays.copyOf(xs, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+        }
+        int id = count++;
+        xs[id] = x;
+        ys[id] = y;
+
+        boolean changed = lower.insert(id);
+        changed |= upper.insert(id);
+        return changed;
+    }
+
+    public void clear() {
+        lower.vertices.clear();
+        upper.vertices.clear();
+        count = 0;
+    }
+
+    public int[] getHullIndices() {
+        if (count == 0) {
+            return new int[0];
+        }
+
+        int[] lowerIds = lower.ids();
+        int[] upperIds = upper.ids();
+        int[] hull = new int[lowerIds.length + upperIds.length];
+        System.arraycopy(lowerIds, 0, hull, 0, lowerIds.length);
+        int size = lowerIds.length;
+
+        int first = lowerIds[0];
+        int last = lowerIds[lowerIds.length - 1];
+        for (int i = upperIds.length - 1; i >= 0; i--) {
+            int id = upperIds[i];
+            if (samePoint(id, last) || samePoint(id, first)) {
+                continue;
+            }
+            hull[size++] = id;
+        }
+        return Arrays.copyOf(hull, size);
+    }
+
+    public List<Point2D> getConvexHull() {
+        int[] hull = getHullIndices();
+        List<Point2D> convexHull = new ArrayList<>(hull.length);
+        for (int id : hull) {
+            convexHull.add(new Point2D.Double(xs[id], ys[id]));
+        }
+        return convexHull;
+    }
+
+    @Override
+    public void pointAdded(Point2D point) {
+        addPoint(point.getX(), point.getY());
+    }
+
+    @Override
+    public void pointsCleared() {
+        clear();
+    }
+
+    private boolean samePoint(int a, int b) {
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    private int cross(int o, int a, int b) {
+        return Orientation.orient(xs, ys, o, a, b);
+    }
+
+    /**
+     * One x-monotone chain: the lower chain for sign 1, the upper for -1.
+     */
+    private final class Chain {
+        private final int sign;
+        private final TreeMap<Double, Integer> vertices = new TreeMap<>();
+
+        Chain(int sign) {
+            this.sign = sign;
+        }
+
+        boolean insert(int id) {
+            double x = xs[id] + 0.0;
+            Integer existing = vertices.get(x);
+            if (existing != null) {
+                if (sign * ys[existing] <= sign * ys[id]) {
+                    return false;
+                }
+            } else {
+                Map.Entry<Double, Integer> left = vertices.lowerEntry(x);
+                Map.Entry<Double, Integer> right = vertices.higherEntry(x);
+                if (left != null && right != null && sign * cross(left.getValue(), right.getValue(), id) >= 0) {
+                    return false;
+                }
+            }
+
+            vertices.put(x, id);
+
+            Map.Entry<Double, Integer> near;
+            while ((near = vertices.lowerEntry(x)) != null) {
+                Map.Entry<Double, Integer> far = vertices.lowerEntry(near.getKey());
+                if (far == null || sign * cross(far.getValue(), near.getValue(), id) > 0) {
+                    break;
+                }
+                vertices.remove(near.getKey());
+            }
+            while ((near = vertices.higherEntry(x)) != null) {
+                Map.Entry<Double, Integer> far = vertices.higherEntry(near.getKey());
+                if (far == null || sign * cross(id, near.getValue(), far.getValue()) > 0) {
+                    break;
+                }
+                vertices.remove(near.getKey());
+            }
+            return true;
+        }
+
+        int[] ids() {
+            int[] ids = new int[vertices.size()];
+            int i = 0;
+            for (int id : vertices.values()) {
+                ids[i++] = id;
+            }
+            return ids;
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Incremental";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(log n) per point";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+}
@@ -0,0 +1,250 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Primitive sorts for point data, without boxing. {@link #sort} orders indices
+ * by a pair of keys with a stable merge sort, so equal keys keep their input
+ * order. {@link #sortPoints} and {@link #parallelSortPoints} sort coordinate
+ * arrays by (x, y) with an introsort (three-way quicksort falling back to heap
+ * sort), which is not stable: points with equal coordinates may end up in any
+ * order.
+ */
+public final class IndexSort {
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    // Ranges at least this long poll for cancellation before they are merged or partitioned.
+    private static final int CANCELLATION_RANGE = Cancellation.INTERVAL_MASK + 1;
+
+    private IndexSort() {
+    }
+
+    public static int[] sort(int n, double[] primary, double[] secondary) {
+        int[] order = PointArrays.identity(n);
+        sort(order, 0, n, primary, secondary);
+        return order;
+    }
+
+    public static void sort(int[] order, int from, int to, double[] primary, double[] secondary) {
+        if (to - from < 2) {
+            return;
+        }
+        int[] buffer = new int[to - from];
+        mergeSort(order, buffer, from, to, primary, secondary);
+    }
+
+    private static void mergeSort(int[] order, int[] buffer, int from, int to, double[] primary, double[] secondary) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(order, from, to, primary, secondary);
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid, primary, secondary);
+        mergeSort(order, buffer, mid, to, primary, secondary);
+        if (to - from >= CANCELLATION_RANGE) {
+            Cancellation.check();
+        }
+
+        if (compare(order[mid - 1], order[mid], primary, secondary) <= 0) {
+            return;
+        }
+
+        int length = mid - from;
+        System.arraycopy(order, from, buffer, 0, length);
+        int i = 0, j = mid, k = from;
+        while (i < length && j < to) {
+            if (compare(order[j], buffer[i], primary, secondary) < 0) {
+                order[k++] = order[j++];
+            } else {
+                order[k++] = buffer[i++];
+            }
+        }
+        while (i < length) {
+            order[k++] = buffer[i++];
+        }
+    }
+
+    private static void insertionSort(int[] order, int from, int to, double[] primary, double[] secondary) {
+        for (int i = from + 1; i < to; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= from && compare(order[j], current, primary, secondary) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    /**
+     * Sorts the coordinate arrays in place by (x, y) and applies the same
+     * permutation to {@code order}, so scans over the result read memory
+     * sequentially instead of chasing indices.
+     */
+    public static void sortPoints(double[] xs, double[] ys, int[] order, int from, int to) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, to - from)));
+        quickSort(xs, ys, order, from, to - 1, depthLimit, Thread.currentThread());
+    }
+
+    /**
+     * Same ordering as {@link #sortPoints}, with the two sides of every large
+     * partition sorted as separate fork/join tasks on the common pool.
+     */
+    public static void parallelSortPoints(double[] xs, double[] ys, int[] order, int from, int to) {
+        if (to - from < PARALLEL_THRESHOLD) {
+            sortPoints(xs, ys, order, from, to);
+            return;
+        }
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        Cancellation.invoke(new ParallelQuickSort(xs, ys, order, from, to - 1, depthLimit, Thread.currentThread()));
+    }
+
+    private static final class ParallelQuickSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] order;
+        private final int low;
+        private final int high;
+        private final int depthLimit;
+        private final Thread owner;
+
+        ParallelQuickSort(double[] xs, double[] ys, int[] order, int low, int high, int depthLimit, Thread owner) {
+            this.xs = xs;
+            this.ys = ys;
+            this.order = order;
+            this.low = low;
+            this.high = high;
+            this.depthLimit = depthLimit;
+            this.owner = owner;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < PARALLEL_THRESHOLD || depthLimit == 0) {
+                quickSort(xs, ys, order, low, high, depthLimit, owner);
+                return;
+            }
+
+            Cancellation.check(owner);
+            long bounds = partition(xs, ys, order, low, high);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            invokeAll(new ParallelQuickSort(xs, ys, order, low, lt - 1, depthLimit - 1, owner),
+                    new ParallelQuickSort(xs, ys, order, gt + 1, high, depthLimit - 1, owner));
+        }
+    }
+
+    private static void quickSort(double[] xs, double[] ys, int[] order, int low, int high, int depthLimit, Thread owner) {
+        while (high - low >= INSERTION_THRESHOLD) {
+            if (high - low >= CANCELLATION_RANGE) {
+                Cancellation.check(owner);
+            }
+            if (depthLimit-- == 0) {
+                heapSort(xs, ys, order, low, high);
+                return;
+            }
+
+            long bounds = partition(xs, ys, order, low, high);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+
+            if (lt - low < high - gt) {
+                quickSort(xs, ys, order, low, lt - 1, depthLimit, owner);
+                low = gt + 1;
+            } else {
+                quickSort(xs, ys, order, gt + 1, high, depthLimit, owner);
+                high = lt - 1;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && comparePoints(xs, ys, j, j - 1) < 0; j--) {
+                swap(xs, ys, order, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Three-way partition around a median-of-three pivot. Returns the bounds
+     * of the run equal to the pivot as (lt << 32) | gt.
+     */
+    private static long partition(double[] xs, double[] ys, int[] order, int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (comparePoints(xs, ys, mid, low) < 0) swap(xs, ys, order, mid, low);
+        if (comparePoints(xs, ys, high, low) < 0) swap(xs, ys, order, high, low);
+        if (comparePoints(xs, ys, high, mid) < 0) swap(xs, ys, order, high, mid);
+        double pivotX = xs[mid];
+        double pivotY = ys[mid];
+
+        int lt = low, i = low, gt = high;
+        while (i <= gt) {
+            int cmp = comparePoint(xs[i], ys[i], pivotX, pivotY);
+            if (cmp < 0) {
+                swap(xs, ys, order, lt++, i++);
+            } else if (cmp > 0) {
+                swap(xs, ys, order, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+
+    private static void heapSort(double[] xs, double[] ys, int[] order, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(xs, ys, order, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(xs, ys, order, low, low + end);
+            siftDown(xs, ys, order, low, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] xs, double[] ys, int[] order, int base, int root, int n) {
+        while (2 * root + 1 < n) {
+            int child = 2 * root + 1;
+            if (child + 1 < n && comparePoints(xs, ys, base + child + 1, base + child) > 0) {
+                child++;
+            }
+            if (comparePoints(xs, ys, base + root, base + child) >= 0) {
+                return;
+            }
+            swap(xs, ys, order, base + root, base + child);
+            root = child;
+        }
+    }
+
+    private static int comparePoints(double[] xs, double[] ys, int a, int b) {
+        return comparePoint(xs[a], ys[a], xs[b], ys[b]);
+    }
+
+    private static int comparePoint(double ax, double ay, double bx, double by) {
+        if (ax < bx) return -1;
+        if (ax > bx) return 1;
+        if (ay < by) return -1;
+        if (ay > by) return 1;
+        return 0;
+    }
+
+    private static void swap(double[] xs, double[] ys, int[] order, int a, int b) {
+        double x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        double y = ys[a];
+        ys[a] = ys[b];
+        ys[b] = y;
+        int index = order[a];
+        order[a] = order[b];
+        order[b] = index;
+    }
+
+    static int compare(int a, int b, double[] primary, double[] secondary) {
+        if (primary[a] < primary[b]) return -1;
+        if (primary[a] > primary[b]) return 1;
+        if (secondary[a] < secondary[b]) return -1;
+        if (secondary[a] > secondary[b]) return 1;
+        return 0;
+    }
+}
@@ -0,0 +1,101 @@
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Times algorithm phases into {@link Metrics} and emits an
+ * {@link AlgorithmPhaseEvent} for each, so a recording started with
+ * {@code jcmd <pid> JFR.start} shows where the time goes.
+ *
+ * <pre>
+ * try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "sort", n)) {
+ *     ...
+ *     phase.setResultSize(hull.length);
+ * }
+ * </pre>
+ *
+ * Phases without a result size to report use {@link #time}.
+ */
+public final class Instrumentation {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private Instrumentation() {
+    }
+
+    public static Phase begin(String algorithm, String phase, int pointCount) {
+        return new Phase(algorithm, phase, pointCount);
+    }
+
+    public static void time(String algorithm, String phase, int pointCount, Runnable body) {
+        Phase timed = begin(algorithm, phase, pointCount);
+        try {
+            body.run();
+        } finally {
+            timed.close();
+        }
+    }
+
+    public static <T> T time(String algorithm, String phase, int pointCount, Supplier<T> body) {
+        Phase timed = begin(algorithm, phase, pointCount);
+        try {
+            return body.get();
+        } finally {
+            timed.close();
+        }
+    }
+
+    public static final class Phase implements AutoCloseable {
+        private final String algorithm;
+        private final String phase;
+        private final int pointCount;
+        private final AlgorithmPhaseEvent event = new AlgorithmPhaseEvent();
+        private final long startAllocated;
+        private final long startTime;
+        private int resultSize;
+
+        private Phase(String algorithm, String phase, int pointCount) {
+            this.algorithm = algorithm;
+            this.phase = phase;
+            this.pointCount = pointCount;
+            this.startAllocated = allocatedBytes();
+            event.begin();
+            this.startTime = System.nanoTime();
+        }
+
+        public void setResultSize(int resultSize) {
+            this.resultSize = resultSize;
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startTime;
+            event.end();
+            long allocated = Math.max(0, allocatedBytes() - startAllocated);
+
+            Metrics.record(algorithm, phase, elapsed, pointCount, allocated);
+
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.phase = phase;
+                event.pointCount = pointCount;
+                event.resultSize = resultSize;
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Monotone chain specialised for integer coordinates: points are radix sorted
+ * as packed long keys and the chains are built with exact long orientation.
+ * Input that is not integral, or exceeds {@link IntegerGeometry#MAX_COORDINATE},
+ * goes to {@link MonotoneChainConvexHull} instead.
+ */
+public class IntegerConvexHull implements ConvexHullAlgorithm {
+    private final MonotoneChainConvexHull fallback = new MonotoneChainConvexHull();
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+        if (!IntegerGeometry.isIntegral(xs, ys)) {
+            return fallback.calculateConvexHull(xs, ys);
+        }
+
+        IntegerGeometry.SortedPoints sorted = Instrumentation.time(getAlgorithmName(), "sort", n, () -> IntegerGeometry.sortPoints(xs, ys));
+
+        int[] hull;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "scan", n)) {
+            hull = hull(sorted);
+            phase.setResultSize(hull.length);
+        }
+        for (int i = 0; i < hull.length; i++) {
+            hull[i] = sorted.order[hull[i]];
+        }
+        return hull;
+    }
+
+    /**
+     * The two chain passes of {@link MonotoneChainConvexHull#hull} over the
+     * sorted keys, returning positions into them.
+     */
+    private static int[] hull(IntegerGeometry.SortedPoints sorted) {
+        int n = sorted.keys.length;
+        long[] xs = new long[n];
+        long[] ys = new long[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = sorted.x(i);
+            ys[i] = sorted.y(i);
+        }
+
+        int[] stack = new int[2 * n];
+        int top = 0;
+
+        for (int i = 0; i < n; i++) {
+            while (top >= 2 && orient(xs, ys, stack[top - 2], stack[top - 1], i) <= 0) {
+                top--;
+            }
+            stack[top++] = i;
+        }
+
+        int lowerSize = top + 1;
+        for (int i = n - 2; i >= 0; i--) {
+            while (top >= lowerSize && orient(xs, ys, stack[top - 2], stack[top - 1], i) <= 0) {
+                top--;
+            }
+            stack[top++] = i;
+        }
+
+        return Arrays.copyOf(stack, Math.max(1, top - 1));
+    }
+
+    private static int orient(long[] xs, long[] ys, int a, int b, int c) {
+        return IntegerGeometry.orient(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Integer Monotone Chain";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n)";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+}
@@ -0,0 +1,164 @@
+import java.awt.geom.Line2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kernels for integer coordinates, such as UI pixels or grid-snapped feeds.
+ * Coordinates up to 2^30 in magnitude keep every difference under 2^31 and
+ * every cross product under 2^63, so orientation in {@code long} is exact with
+ * no filter or fallback. Points sort as packed {@code long} keys with an LSD
+ * radix sort.
+ */
+public final class IntegerGeometry {
+    public static final long MAX_COORDINATE = (1L << 30) - 1;
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private IntegerGeometry() {
+    }
+
+    /** Whether every value is an integer within {@link #MAX_COORDINATE}. */
+    public static boolean isIntegral(double[]... columns) {
+        for (double[] column : columns) {
+            for (double value : column) {
+                if (!isIntegral(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIntegral(double value) {
+        return value == (long) value && Math.abs(value) <= MAX_COORDINATE;
+    }
+
+    /** Whether every segment endpoint is an integer within {@link #MAX_COORDINATE}. */
+    public static boolean isIntegral(List<Line2D> lines) {
+        for (Line2D line : lines) {
+            if (!isIntegral(line.getX1()) || !isIntegral(line.getY1())
+                    || !isIntegral(line.getX2()) || !isIntegral(line.getY2())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Endpoint columns x1, y1, x2, y2 as longs; callers check {@link #isIntegral(List)} first. */
+    public static long[][] segmentColumns(List<Line2D> lines) {
+        int n = lines.size();
+        long[][] columns = new long[4][n];
+        for (int i = 0; i < n; i++) {
+            Line2D line = lines.get(i);
+            columns[0][i] = (long) line.getX1();
+            columns[1][i] = (long) line.getY1();
+            columns[2][i] = (long) line.getX2();
+            columns[3][i] = (long) line.getY2();
+        }
+        return columns;
+    }
+
+    /** Same convention as {@link Orientation#orient}, computed exactly. */
+    public static int orient(long ax, long ay, long bx, long by, long cx, long cy) {
+        return Long.signum((bx - ax) * (cy - ay) - (by - ay) * (cx - ax));
+    }
+
+    public static boolean intersects(long ax, long ay, long bx, long by, long cx, long cy, long dx, long dy) {
+        return orient(ax, ay, bx, by, cx, cy) != orient(ax, ay, bx, by, dx, dy) &&
+                orient(cx, cy, dx, dy, ax, ay) != orient(cx, cy, dx, dy, bx, by);
+    }
+
+    /**
+     * Points sorted by (x, y), as packed keys: x - minX in the high bits and
+     * y - minY in the low {@code yBits}, so that unpacking needs no lookups
+     * into the input.
+     */
+    static final class SortedPoints {
+        final long[] keys;
+        final int[] order;
+        final long minX, minY;
+        final int yBits;
+
+        private SortedPoints(long[] keys, int[] order, long minX, long minY, int yBits) {
+            this.keys = keys;
+            this.order = order;
+            this.minX = minX;
+            this.minY = minY;
+            this.yBits = yBits;
+        }
+
+        long x(int i) {
+            return (keys[i] >>> yBits) + minX;
+        }
+
+        long y(int i) {
+            return (keys[i] & ((1L << yBits) - 1)) + minY;
+        }
+    }
+
+    /** Sorts integral coordinates; callers check {@link #isIntegral} first. */
+    static SortedPoints sortPoints(double[] xs, double[] ys) {
+        int n = xs.length;
+        long minX = Long.MAX_VALUE, maxX = Long.MIN_VALUE;
+        long minY = Long.MAX_VALUE, maxY = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, (long) xs[i]);
+            maxX = Math.max(maxX, (long) xs[i]);
+            minY = Math.min(minY, (long) ys[i]);
+            maxY = Math.max(maxY, (long) ys[i]);
+        }
+        int xBits = 64 - Long.numberOfLeadingZeros(maxX - minX);
+        int yBits = 64 - Long.numberOfLeadingZeros(maxY - minY);
+
+        long[] keys = new long[n];
+        int[] order = PointArrays.identity(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = (((long) xs[i] - minX) << yBits) | ((long) ys[i] - minY);
+        }
+        radixSort(keys, order, xBits + yBits);
+        return new SortedPoints(keys, order, minX, minY, yBits);
+    }
+
+    /**
+     * Stable LSD radix sort of non-negative keys below 2^bits, carrying
+     * {@code order} along. Only as many passes as the key width needs are run.
+     */
+    static void radixSort(long[] keys, int[] order, int bits) {
+        int n = keys.length;
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (long key : keys) {
+                counts[(int) (key >>> shift) & (RADIX - 1)]++;
+            }
+            int total = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = total;
+                total += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int digit = (int) (keys[i] >>> shift) & (RADIX - 1);
+                int target = counts[digit]++;
+                keyBuffer[target] = keys[i];
+                orderBuffer[target] = order[i];
+            }
+
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapOrder = order;
+            order = orderBuffer;
+            orderBuffer = swapOrder;
+        }
+
+        if (((bits + RADIX_BITS - 1) / RADIX_BITS) % 2 == 1) {
+            System.arraycopy(keys, 0, keyBuffer, 0, n);
+            System.arraycopy(order, 0, orderBuffer, 0, n);
+        }
+    }
+}
@@ -1,93 +1,120 @@
-import javax.swing.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-public class JarvisMarchConvexHull extends JPanel implements ConvexHullAlgorithm {
-
-    private List<Point2D> points = new ArrayList<>();
-
-    public JarvisMarchConvexHull() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                points.add(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    @Override
-    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        int n = inputPoints.size();
-        if (n < 3) {
-            return inputPoints;
-        }
-
-        List<Point2D> hull = new ArrayList<>();
-
-        int leftmostIndex = 0;
-        for (int i = 1; i < n; i++) {
-            if (inputPoints.get(i).getX() < inputPoints.get(leftmostIndex).getX()) {
-                leftmostIndex = i;
-            }
-        }
-
-        int currentPointIndex = leftmostIndex;
-        do {
-            hull.add(inputPoints.get(currentPointIndex));
-
-            int nextPointIndex = (currentPointIndex + 1) % n;
-            for (int i = 0; i < n; i++) {
-                if (orientation(inputPoints.get(currentPointIndex), inputPoints.get(i), inputPoints.get(nextPointIndex)) == -1) {
-                    nextPointIndex = i;
-                }
-            }
-
-            currentPointIndex = nextPointIndex;
-
-        } while (currentPointIndex != leftmostIndex);
-
-        writeConvexHullToFile(hull, "convex_hull_output.txt");
-        return hull;
-    }
-
-    private int orientation(Point2D p, Point2D q, Point2D r) {
-        double val = (q.getY() - p.getY()) * (r.getX() - q.getX()) - (q.getX() - p.getX()) * (r.getY() - q.getY());
-        if (val == 0) {
-            return 0; 
-        }
-        return (val > 0) ? 1 : -1;
-    }
-
-    private void writeConvexHullToFile(List<Point2D> convexHull, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Point2D point : convexHull) {
-                writer.write(point.getX() + " , " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "Jarvis March";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(nh)"; 
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(1)"; 
-    }
-}
+import javax.swing.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JarvisMarchConvexHull extends JPanel implements ConvexHullAlgorithm {
+
+    private List<Point2D> points = new ArrayList<>();
+
+    public JarvisMarchConvexHull() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                points.add(e.getPoint());
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        if (inputPoints.size() < 3) {
+            return inputPoints;
+        }
+
+        int[] hullIndices = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> hull = PointArrays.select(inputPoints, hullIndices);
+
+        ResultSinks.current().write("convex_hull_output.txt", hull, ResultSink.HULL_POINTS);
+        return hull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int[] hull = new int[n];
+        int size = 0;
+
+        int leftmostIndex = 0;
+        for (int i = 1; i < n; i++) {
+            if (xs[i] < xs[leftmostIndex] || (xs[i] == xs[leftmostIndex] && ys[i] < ys[leftmostIndex])) {
+                leftmostIndex = i;
+            }
+        }
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "wrap", n)) {
+            int currentPointIndex = leftmostIndex;
+            do {
+                Cancellation.check();
+                hull[size++] = currentPointIndex;
+
+                int nextPointIndex = (currentPointIndex + 1) % n;
+                for (int i = 0; i < n; i++) {
+                    if (isBetterCandidate(xs, ys, currentPointIndex, i, nextPointIndex)) {
+                        nextPointIndex = i;
+                    }
+                }
+
+                if (StepTrace.ENABLED) {
+                    StepTrace.record(StepTrace.EDGE, currentPointIndex, nextPointIndex);
+                }
+                currentPointIndex = nextPointIndex;
+
+            } while (!samePoint(xs, ys, currentPointIndex, leftmostIndex) && size < n);
+            phase.setResultSize(size);
+        }
+
+        return Arrays.copyOf(hull, size);
+    }
+
+    /**
+     * Whether {@code i} should replace {@code next} as the wrap target from
+     * {@code current}: it turns further, or lies on the same ray further out.
+     * Taking the farthest collinear point, and never a copy of the current one,
+     * keeps the wrap from bouncing between points on one edge.
+     */
+    private boolean isBetterCandidate(double[] xs, double[] ys, int current, int i, int next) {
+        if (samePoint(xs, ys, current, next)) {
+            return true;
+        }
+        int orientation = orientation(xs, ys, current, i, next);
+        return orientation == -1 || (orientation == 0 && distance(xs, ys, current, i) > distance(xs, ys, current, next));
+    }
+
+    private boolean samePoint(double[] xs, double[] ys, int a, int b) {
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    private double distance(double[] xs, double[] ys, int a, int b) {
+        double dx = xs[b] - xs[a];
+        double dy = ys[b] - ys[a];
+        return dx * dx + dy * dy;
+    }
+
+    private int orientation(double[] xs, double[] ys, int p, int q, int r) {
+        return -Orientation.orient(xs, ys, p, q, r);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Jarvis March";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(nh)"; 
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(1)"; 
+    }
+}
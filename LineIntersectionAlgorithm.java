@@ -1,9 +1,18 @@
-import java.awt.geom.Line2D;
-import java.util.List;
-
-public interface LineIntersectionAlgorithm {
-    List<Line2D> calculateIntersections(List<Line2D> lines);
-    String getTimeComplexity();
-    String getSpaceComplexity();
-    String getAlgorithmName();
-}
+import java.awt.geom.Line2D;
+import java.util.List;
+
+public interface LineIntersectionAlgorithm {
+    List<Line2D> calculateIntersections(List<Line2D> lines);
+
+    /**
+     * Whether any two segments intersect, without building the intersection list.
+     * Backed by a Shamos-Hoey sweep that stops at the first crossing, O(n log n).
+     */
+    default boolean hasIntersection(List<Line2D> lines) {
+        return BentleyOttmannLineIntersection.anyIntersection(lines);
+    }
+
+    String getTimeComplexity();
+    String getSpaceComplexity();
+    String getAlgorithmName();
+}
@@ -0,0 +1,85 @@
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of phase timings, keyed by "algorithm / phase". Run with
+ * -Dgeometry.metrics.dump=true to print the table when the JVM exits.
+ */
+public final class Metrics {
+    private static final Map<String, PhaseStats> PHASES = new ConcurrentHashMap<>();
+
+    static {
+        if (Boolean.getBoolean("geometry.metrics.dump")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(report())));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static final class PhaseStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder totalPoints = new LongAdder();
+        private final LongAdder totalAllocatedBytes = new LongAdder();
+
+        void record(long nanos, int pointCount, long allocatedBytes) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            totalPoints.add(pointCount);
+            totalAllocatedBytes.add(allocatedBytes);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getTotalPoints() {
+            return totalPoints.sum();
+        }
+
+        public long getTotalAllocatedBytes() {
+            return totalAllocatedBytes.sum();
+        }
+    }
+
+    public static void record(String algorithm, String phase, long nanos, int pointCount, long allocatedBytes) {
+        PHASES.computeIfAbsent(algorithm + " / " + phase, key -> new PhaseStats())
+                .record(nanos, pointCount, allocatedBytes);
+    }
+
+    public static Map<String, PhaseStats> snapshot() {
+        return new TreeMap<>(PHASES);
+    }
+
+    public static void reset() {
+        PHASES.clear();
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-48s %8s %12s %12s %14s%n", "phase", "count", "mean (us)", "max (us)", "alloc (bytes)"));
+        for (Map.Entry<String, PhaseStats> entry : snapshot().entrySet()) {
+            PhaseStats stats = entry.getValue();
+            long count = Math.max(1, stats.getCount());
+            report.append(String.format("%-48s %8d %12.1f %12.1f %14d%n", entry.getKey(), stats.getCount(),
+                    stats.getTotalNanos() / 1e3 / count, stats.getMaxNanos() / 1e3, stats.getTotalAllocatedBytes()));
+        }
+        report.append(Orientation.report());
+        report.append(HullResultCache.report());
+        return report.toString();
+    }
+}
@@ -0,0 +1,120 @@
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.List;
+
+public class MonotoneChainConvexHull implements ConvexHullAlgorithm {
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        double[] sortedXs = xs.clone();
+        double[] sortedYs = ys.clone();
+        int[] order = PointArrays.identity(n);
+        Instrumentation.time(getAlgorithmName(), "sort", n, () -> IndexSort.sortPoints(sortedXs, sortedYs, order, 0, n));
+        Cancellation.check();
+
+        int[] hull;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "scan", n)) {
+            hull = hull(sortedXs, sortedYs, 0, n);
+            phase.setResultSize(hull.length);
+        }
+        for (int i = 0; i < hull.length; i++) {
+            hull[i] = order[hull[i]];
+        }
+        return hull;
+    }
+
+    /**
+     * Runs the two chain passes over {@code [from, to)} of coordinates that are
+     * already sorted by (x, y) and returns the hull as counterclockwise positions
+     * into those arrays, starting from the lowest point in sort order.
+     */
+    static int[] hull(double[] xs, double[] ys, int from, int to) {
+        int n = to - from;
+        if (n < 3) {
+            int[] positions = new int[n];
+            for (int i = 0; i < n; i++) {
+                positions[i] = from + i;
+            }
+            return positions;
+        }
+
+        int[] stack = new int[2 * n];
+        int top = 0;
+
+        for (int i = from; i < to; i++) {
+            if (((i - from) & Cancellation.INTERVAL_MASK) == 0) {
+                Cancellation.check();
+            }
+            while (top >= 2 && Orientation.orient(xs, ys, stack[top - 2], stack[top - 1], i) <= 0) {
+                top--;
+            }
+            stack[top++] = i;
+        }
+
+        int lowerSize = top + 1;
+        for (int i = to - 2; i >= from; i--) {
+            if (((i - from) & Cancellation.INTERVAL_MASK) == 0) {
+                Cancellation.check();
+            }
+            while (top >= lowerSize && Orientation.orient(xs, ys, stack[top - 2], stack[top - 1], i) <= 0) {
+                top--;
+            }
+            stack[top++] = i;
+        }
+
+        return Arrays.copyOf(stack, Math.max(1, top - 1));
+    }
+
+    /**
+     * Builds one x-monotone chain, left to right, over sorted coordinates:
+     * the lower chain for {@code sign} 1 and the upper chain for -1.
+     */
+    static int[] chain(double[] xs, double[] ys, int from, int to, int sign) {
+        int[] stack = new int[Math.max(1, to - from)];
+        int top = 0;
+
+        for (int i = from; i < to; i++) {
+            while (top >= 2 && sign * Orientation.orient(xs, ys, stack[top - 2], stack[top - 1], i) <= 0) {
+                top--;
+            }
+            stack[top++] = i;
+        }
+
+        return Arrays.copyOf(stack, top);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Monotone Chain";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n)";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+}
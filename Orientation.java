@@ -0,0 +1,204 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Orientation predicate shared by every algorithm, after Shewchuk's adaptive
+ * orient2d. The determinant is first evaluated in plain doubles and accepted
+ * when it clears a forward error bound, which decides nearly every call; only
+ * near-collinear triples fall back to an exact expansion sum of the six
+ * products, so the answer is always the sign of the true determinant.
+ *
+ * Fallbacks are always counted. Run with -Dgeometry.orientation.stats=true to
+ * also count every call and time the fallbacks; the totals are then part of
+ * the -Dgeometry.metrics.dump report.
+ */
+public final class Orientation {
+    public static final int COUNTERCLOCKWISE = 1;
+    public static final int CLOCKWISE = -1;
+    public static final int COLLINEAR = 0;
+
+    static final boolean STATS = Boolean.getBoolean("geometry.orientation.stats");
+
+    // Half an ulp of 1.0, and Shewchuk's bound for the first, all-double stage.
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+    private static final double ERROR_BOUND = (3.0 + 16.0 * EPSILON) * EPSILON;
+
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder FALLBACKS = new LongAdder();
+    private static final LongAdder FALLBACK_NANOS = new LongAdder();
+
+    private Orientation() {
+    }
+
+    /**
+     * Sign of the cross product (b - a) x (c - a): {@link #COUNTERCLOCKWISE}
+     * when a, b, c turn left, {@link #CLOCKWISE} when they turn right and
+     * {@link #COLLINEAR} when they lie on one line.
+     */
+    public static int orient(double ax, double ay, double bx, double by, double cx, double cy) {
+        if (STATS) {
+            CALLS.increment();
+        }
+        double left = (ax - cx) * (by - cy);
+        double right = (ay - cy) * (bx - cx);
+        double det = left - right;
+        double bound = ERROR_BOUND * (Math.abs(left) + Math.abs(right));
+        if (det > bound) {
+            return COUNTERCLOCKWISE;
+        }
+        if (-det > bound) {
+            return CLOCKWISE;
+        }
+        if (bound == 0) {
+            return COLLINEAR;
+        }
+        return fallback(ax, ay, bx, by, cx, cy);
+    }
+
+    public static int orient(double[] xs, double[] ys, int a, int b, int c) {
+        return orient(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    /**
+     * Sign of the cross product (b - a) x (d - c) of two directions, with the
+     * same filter and exact fallback as {@link #orient}; it equals
+     * {@code orient(a, b, a + (d - c))} without rounding that point. Positive
+     * when the direction c -> d is counterclockwise of a -> b.
+     */
+    public static int cross(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+        if (STATS) {
+            CALLS.increment();
+        }
+        double left = (bx - ax) * (dy - cy);
+        double right = (by - ay) * (dx - cx);
+        double det = left - right;
+        double bound = ERROR_BOUND * (Math.abs(left) + Math.abs(right));
+        if (det > bound) {
+            return COUNTERCLOCKWISE;
+        }
+        if (-det > bound) {
+            return CLOCKWISE;
+        }
+        if (bound == 0) {
+            return COLLINEAR;
+        }
+        FALLBACKS.increment();
+        if (!STATS) {
+            return exactCross(ax, ay, bx, by, cx, cy, dx, dy);
+        }
+        long startTime = System.nanoTime();
+        int sign = exactCross(ax, ay, bx, by, cx, cy, dx, dy);
+        FALLBACK_NANOS.add(System.nanoTime() - startTime);
+        return sign;
+    }
+
+    private static int fallback(double ax, double ay, double bx, double by, double cx, double cy) {
+        FALLBACKS.increment();
+        if (!STATS) {
+            return exact(ax, ay, bx, by, cx, cy);
+        }
+        long startTime = System.nanoTime();
+        int sign = exact(ax, ay, bx, by, cx, cy);
+        FALLBACK_NANOS.add(System.nanoTime() - startTime);
+        return sign;
+    }
+
+    /**
+     * Expands the determinant into ax*by - ax*cy - ay*bx + ay*cx + bx*cy - by*cx,
+     * splits each product exactly into a head and a tail with an FMA, and sums
+     * the twelve terms into a nonoverlapping expansion. The largest component
+     * of that expansion carries the sign of the exact sum.
+     */
+    static int exact(double ax, double ay, double bx, double by, double cx, double cy) {
+        double[] expansion = new double[12];
+        int length = 0;
+        length = addProduct(expansion, length, ax, by);
+        length = addProduct(expansion, length, -ax, cy);
+        length = addProduct(expansion, length, -ay, bx);
+        length = addProduct(expansion, length, ay, cx);
+        length = addProduct(expansion, length, bx, cy);
+        length = addProduct(expansion, length, -by, cx);
+        return length == 0 ? COLLINEAR : signum(expansion[length - 1]);
+    }
+
+    /**
+     * (b - a) x (d - c) expanded into its eight products, summed the same way
+     * as {@link #exact}.
+     */
+    static int exactCross(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+        double[] expansion = new double[16];
+        int length = 0;
+        length = addProduct(expansion, length, bx, dy);
+        length = addProduct(expansion, length, -bx, cy);
+        length = addProduct(expansion, length, -ax, dy);
+        length = addProduct(expansion, length, ax, cy);
+        length = addProduct(expansion, length, -by, dx);
+        length = addProduct(expansion, length, by, cx);
+        length = addProduct(expansion, length, ay, dx);
+        length = addProduct(expansion, length, -ay, cx);
+        return length == 0 ? COLLINEAR : signum(expansion[length - 1]);
+    }
+
+    private static int addProduct(double[] expansion, int length, double a, double b) {
+        double product = a * b;
+        double error = Math.fma(a, b, -product);
+        length = grow(expansion, length, error);
+        return grow(expansion, length, product);
+    }
+
+    /**
+     * Shewchuk's Grow-Expansion with zero elimination: adds {@code value} to
+     * the nonoverlapping expansion held, smallest first, in
+     * {@code expansion[0, length)}.
+     */
+    private static int grow(double[] expansion, int length, double value) {
+        double carry = value;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            double component = expansion[i];
+            double sum = carry + component;
+            double virtual = sum - carry;
+            double error = (carry - (sum - virtual)) + (component - virtual);
+            carry = sum;
+            if (error != 0) {
+                expansion[size++] = error;
+            }
+        }
+        if (carry != 0) {
+            expansion[size++] = carry;
+        }
+        return size;
+    }
+
+    private static int signum(double value) {
+        return value > 0 ? COUNTERCLOCKWISE : value < 0 ? CLOCKWISE : COLLINEAR;
+    }
+
+    public static long getCallCount() {
+        return CALLS.sum();
+    }
+
+    public static long getFallbackCount() {
+        return FALLBACKS.sum();
+    }
+
+    public static long getFallbackNanos() {
+        return FALLBACK_NANOS.sum();
+    }
+
+    public static void reset() {
+        CALLS.reset();
+        FALLBACKS.reset();
+        FALLBACK_NANOS.reset();
+    }
+
+    public static String report() {
+        long fallbacks = getFallbackCount();
+        if (!STATS) {
+            return String.format("orientation: %d exact fallbacks%n", fallbacks);
+        }
+        long calls = getCallCount();
+        return String.format("orientation: %d calls, %d exact fallbacks (%.4f%%), %.1f ns per fallback%n",
+                calls, fallbacks, calls == 0 ? 0.0 : 100.0 * fallbacks / calls,
+                fallbacks == 0 ? 0.0 : (double) getFallbackNanos() / fallbacks);
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.Arrays;
+
+/**
+ * Growable list of segment index pairs packed as {@code (long) i << 32 | j},
+ * filled by one fork/join task and concatenated on join.
+ */
+public final class PairBuffer {
+    private long[] pairs = new long[16];
+    private int size;
+
+    public static long pack(int i, int j) {
+        return (long) i << 32 | j;
+    }
+
+    public static int first(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    public static int second(long pair) {
+        return (int) pair;
+    }
+
+    public void add(long pair) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = pair;
+    }
+
+    public PairBuffer addAll(PairBuffer other) {
+        if (size + other.size > pairs.length) {
+            pairs = Arrays.copyOf(pairs, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.pairs, 0, pairs, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        return pairs[index];
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(pairs, size);
+    }
+}
@@ -0,0 +1,41 @@
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PointArrays {
+
+    private PointArrays() {
+    }
+
+    public static double[] xs(List<Point2D> points) {
+        double[] xs = new double[points.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = points.get(i).getX();
+        }
+        return xs;
+    }
+
+    public static double[] ys(List<Point2D> points) {
+        double[] ys = new double[points.size()];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = points.get(i).getY();
+        }
+        return ys;
+    }
+
+    public static List<Point2D> select(List<Point2D> points, int[] indices) {
+        List<Point2D> selected = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            selected.add(points.get(index));
+        }
+        return selected;
+    }
+
+    public static int[] identity(int n) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,403 @@
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary point and segment files, read and written through memory-mapped
+ * channels. Layout, little-endian: the magic bytes "GEOP", a version byte, the
+ * kind, the coordinate type, a reserved byte, the record count as a long, and
+ * then one column per coordinate (xs, ys for points; x1s, y1s, x2s, y2s for
+ * segments) so that each column loads with a single bulk copy.
+ */
+public final class PointFile {
+    private static final byte[] MAGIC = {'G', 'E', 'O', 'P'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final long MAX_WINDOW = 1L << 30;
+
+    public enum Kind {
+        POINTS(2), SEGMENTS(4);
+
+        private final int columns;
+
+        Kind(int columns) {
+            this.columns = columns;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+    }
+
+    public enum CoordinateType {
+        FLOAT64(8), FLOAT32(4), INT32(4);
+
+        private final int width;
+
+        CoordinateType(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    private final Kind kind;
+    private final CoordinateType coordinateType;
+    private final double[][] columns;
+
+    private PointFile(Kind kind, CoordinateType coordinateType, double[][] columns) {
+        this.kind = kind;
+        this.coordinateType = coordinateType;
+        this.columns = columns;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public CoordinateType getCoordinateType() {
+        return coordinateType;
+    }
+
+    public int size() {
+        return columns[0].length;
+    }
+
+    public double[] column(int index) {
+        return columns[index];
+    }
+
+    public double[] xs() {
+        requireKind(Kind.POINTS);
+        return columns[0];
+    }
+
+    public double[] ys() {
+        requireKind(Kind.POINTS);
+        return columns[1];
+    }
+
+    public List<Point2D> toPoints() {
+        requireKind(Kind.POINTS);
+        List<Point2D> points = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            points.add(new Point2D.Double(columns[0][i], columns[1][i]));
+        }
+        return points;
+    }
+
+    public List<Line2D> toSegments() {
+        requireKind(Kind.SEGMENTS);
+        List<Line2D> segments = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            segments.add(new Line2D.Double(columns[0][i], columns[1][i], columns[2][i], columns[3][i]));
+        }
+        return segments;
+    }
+
+    private void requireKind(Kind expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("File holds " + kind + ", not " + expected);
+        }
+    }
+
+    public static PointFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            double[][] columns = new double[header.kind.getColumns()][(int) header.count];
+            for (int c = 0; c < columns.length; c++) {
+                readColumn(channel, header.columnOffset(c), header.type, columns[c], 0, columns[c].length);
+            }
+            return new PointFile(header.kind, header.type, columns);
+        }
+    }
+
+    public static boolean isPointFile(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Opens a points file for reading a window at a time, without loading the
+     * whole file. Only the current window is mapped, so memory stays bounded
+     * by the caller's buffers.
+     */
+    public static ChunkReader openPoints(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            Header header = readHeader(channel, path);
+            if (header.kind != Kind.POINTS) {
+                throw new IOException(path + " holds " + header.kind + ", not " + Kind.POINTS);
+            }
+            return new ChunkReader(channel, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static final class ChunkReader implements Closeable {
+        private final FileChannel channel;
+        private final Header header;
+        private long position;
+
+        private ChunkReader(FileChannel channel, Header header) {
+            this.channel = channel;
+            this.header = header;
+        }
+
+        public long size() {
+            return header.count;
+        }
+
+        /**
+         * Fills {@code xs} and {@code ys} from the start with the next points and
+         * returns how many were read, or -1 once the file is exhausted.
+         */
+        public int read(double[] xs, double[] ys) throws IOException {
+            int length = (int) Math.min(Math.min(xs.length, ys.length), header.count - position);
+            if (length <= 0) {
+                return -1;
+            }
+            long skip = position * header.type.getWidth();
+            readColumn(channel, header.columnOffset(0) + skip, header.type, xs, 0, length);
+            readColumn(channel, header.columnOffset(1) + skip, header.type, ys, 0, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class Header {
+        final Kind kind;
+        final CoordinateType type;
+        final long count;
+
+        Header(Kind kind, CoordinateType type, long count) {
+            this.kind = kind;
+            this.type = type;
+            this.count = count;
+        }
+
+        long columnOffset(int column) {
+            return HEADER_SIZE + column * count * type.getWidth();
+        }
+    }
+
+    private static Header readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_SIZE, channel.size()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.limit() < HEADER_SIZE) {
+            throw new IOException(path + " is too short to be a point file");
+        }
+        for (byte expected : MAGIC) {
+            if (header.get() != expected) {
+                throw new IOException(path + " is not a point file");
+            }
+        }
+        if (header.get() != VERSION) {
+            throw new IOException(path + " has an unsupported point file version");
+        }
+        Kind kind = decode(Kind.values(), header.get(), path);
+        CoordinateType type = decode(CoordinateType.values(), header.get(), path);
+        header.get();
+        long count = header.getLong();
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IOException(path + " holds " + count + " records, more than an array can take");
+        }
+        long expectedSize = HEADER_SIZE + count * kind.getColumns() * type.getWidth();
+        if (channel.size() < expectedSize) {
+            throw new IOException(path + " is truncated: expected " + expectedSize + " bytes, found " + channel.size());
+        }
+        return new Header(kind, type, count);
+    }
+
+    public static void writePoints(Path path, double[] xs, double[] ys, CoordinateType type) throws IOException {
+        write(path, Kind.POINTS, type, xs, ys);
+    }
+
+    public static void writeSegments(Path path, double[] x1s, double[] y1s, double[] x2s, double[] y2s,
+                                     CoordinateType type) throws IOException {
+        write(path, Kind.SEGMENTS, type, x1s, y1s, x2s, y2s);
+    }
+
+    public static void writePoints(Path path, List<Point2D> points, CoordinateType type) throws IOException {
+        writePoints(path, PointArrays.xs(points), PointArrays.ys(points), type);
+    }
+
+    public static void writeSegments(Path path, List<Line2D> segments, CoordinateType type) throws IOException {
+        double[][] columns = new double[4][segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            Line2D segment = segments.get(i);
+            columns[0][i] = segment.getX1();
+            columns[1][i] = segment.getY1();
+            columns[2][i] = segment.getX2();
+            columns[3][i] = segment.getY2();
+        }
+        write(path, Kind.SEGMENTS, type, columns);
+    }
+
+    /**
+     * Reads the text files the algorithms write: "x , y" or "x y" lines become
+     * points and "x1 y1 x2 y2" lines become segments.
+     */
+    public static PointFile importText(Path path) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        int width = -1;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                String[] tokens = trimmed.split("[\\s,]+");
+                if ((tokens.length != 2 && tokens.length != 4) || (width != -1 && tokens.length != width)) {
+                    throw new IOException(path + ":" + lineNumber + ": expected " + (width == -1 ? "2 or 4" : width)
+                            + " coordinates, found " + tokens.length);
+                }
+                width = tokens.length;
+                double[] row = new double[width];
+                for (int i = 0; i < width; i++) {
+                    try {
+                        row[i] = Double.parseDouble(tokens[i]);
+                    } catch (NumberFormatException e) {
+                        throw new IOException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+                    }
+                }
+                rows.add(row);
+            }
+        }
+
+        Kind kind = width == 4 ? Kind.SEGMENTS : Kind.POINTS;
+        double[][] columns = new double[kind.getColumns()][rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][i] = rows.get(i)[c];
+            }
+        }
+        return new PointFile(kind, CoordinateType.FLOAT64, columns);
+    }
+
+    private static void write(Path path, Kind kind, CoordinateType type, double[]... columns) throws IOException {
+        int count = columns[0].length;
+        for (double[] column : columns) {
+            if (column.length != count) {
+                throw new IllegalArgumentException("Columns differ in length: " + column.length + " vs " + count);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC).put(VERSION).put((byte) kind.ordinal()).put((byte) type.ordinal()).put((byte) 0);
+            header.putLong(count);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, HEADER_SIZE - header.remaining());
+            }
+
+            long offset = HEADER_SIZE;
+            for (double[] column : columns) {
+                writeColumn(channel, offset, type, column);
+                offset += (long) count * type.getWidth();
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> E decode(E[] values, byte code, Path path) throws IOException {
+        if (code < 0 || code >= values.length) {
+            throw new IOException(path + " has an unknown " + values[0].getDeclaringClass().getSimpleName() + " code " + code);
+        }
+        return values[code];
+    }
+
+    private static void readColumn(FileChannel channel, long offset, CoordinateType type,
+                                   double[] column, int start, int count) throws IOException {
+        int perWindow = (int) (MAX_WINDOW / type.getWidth());
+        for (int from = 0; from < count; from += perWindow) {
+            int length = Math.min(perWindow, count - from);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    offset + (long) from * type.getWidth(), (long) length * type.getWidth());
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            int base = start + from;
+            switch (type) {
+                case FLOAT64:
+                    window.asDoubleBuffer().get(column, base, length);
+                    break;
+                case FLOAT32:
+                    for (int i = 0; i < length; i++) {
+                        column[base + i] = window.getFloat(i * 4);
+                    }
+                    break;
+                case INT32:
+                    for (int i = 0; i < length; i++) {
+                        column[base + i] = window.getInt(i * 4);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, long offset, CoordinateType type, double[] column) throws IOException {
+        int perWindow = (int) (MAX_WINDOW / type.getWidth());
+        for (int from = 0; from < column.length; from += perWindow) {
+            int length = Math.min(perWindow, column.length - from);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                    offset + (long) from * type.getWidth(), (long) length * type.getWidth());
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            switch (type) {
+                case FLOAT64:
+                    window.asDoubleBuffer().put(column, from, length);
+                    break;
+                case FLOAT32:
+                    for (int i = 0; i < length; i++) {
+                        window.putFloat(i * 4, (float) column[from + i]);
+                    }
+                    break;
+                case INT32:
+                    for (int i = 0; i < length; i++) {
+                        double value = column[from + i];
+                        if (value != (int) value) {
+                            throw new IllegalArgumentException("Coordinate " + value + " is not a 32-bit integer");
+                        }
+                        window.putInt(i * 4, (int) value);
+                    }
+                    break;
+            }
+            window.force();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: java PointFile <input.txt> <output.geop>");
+            System.exit(2);
+        }
+        PointFile file = importText(Path.of(args[0]));
+        write(Path.of(args[1]), file.getKind(), CoordinateType.FLOAT64, file.columns);
+        System.out.println("Wrote " + file.size() + " " + file.getKind().name().toLowerCase() + " to " + args[1]);
+    }
+}
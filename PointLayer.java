@@ -0,0 +1,254 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * The static point layer of a page, rendered into a {@link BufferedImage} so a
+ * repaint costs one image copy however many points there are. Points are only
+ * ever appended until the page clears them, so only the pixels new points touch
+ * are redrawn; the whole layer is redrawn after a clear, a resize or a change
+ * of detail level.
+ *
+ * Detail drops with the point count: every point is labelled up to the label
+ * limit, drawn as a dot up to the density limit, and above it the layer
+ * becomes a heat map of points per pixel. Both limits are configurable with
+ * -Dgeometry.render.labelLimit and -Dgeometry.render.densityLimit.
+ */
+public class PointLayer {
+    public static final int LABEL_LIMIT = Integer.getInteger("geometry.render.labelLimit", 1_000);
+    public static final int DENSITY_LIMIT = Integer.getInteger("geometry.render.densityLimit", 50_000);
+
+    private static final int POINT_SIZE = 6;
+    private static final int[] PALETTE = new int[256];
+
+    static {
+        for (int i = 0; i < PALETTE.length; i++) {
+            PALETTE[i] = heat(i / 255.0);
+        }
+    }
+
+    private final Color pointColor;
+    private final Color labelColor;
+    private final int labelOffset;
+    private final Color segmentColor;
+
+    private BufferedImage image;
+    private long renderedGeneration = -1;
+    private int renderedSize;
+    private int[] counts;
+    private int maxCount;
+
+    /**
+     * @param segmentColor when not null, consecutive pairs of points are also
+     *                     drawn as segments, between the labels and the dots
+     */
+    public PointLayer(Color pointColor, Color labelColor, int labelOffset, Color segmentColor) {
+        this.pointColor = pointColor;
+        this.labelColor = labelColor;
+        this.labelOffset = labelOffset;
+        this.segmentColor = segmentColor;
+    }
+
+    /**
+     * Draws the layer. Within one {@code generation} the points may only have
+     * been appended to since the last call, and only those are rendered; a new
+     * generation (the points were cleared) or size redraws everything.
+     */
+    public void paint(Graphics2D g2d, int width, int height, List<Point2D> points, long generation) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int size = points.size();
+        if (image == null || image.getWidth() != width || image.getHeight() != height
+                || generation != renderedGeneration || size < renderedSize
+                || detail(size) != detail(renderedSize) || (size > DENSITY_LIMIT && segmentColor != null)) {
+            render(width, height, points);
+            renderedGeneration = generation;
+        } else if (size > renderedSize) {
+            append(points, renderedSize);
+        }
+        renderedSize = size;
+        g2d.drawImage(image, 0, 0, null);
+    }
+
+    /** 2 for labelled points, 1 for dots, 0 for the heat map. */
+    private static int detail(int size) {
+        return size <= LABEL_LIMIT ? 2 : size <= DENSITY_LIMIT ? 1 : 0;
+    }
+
+    private void render(int width, int height, List<Point2D> points) {
+        Instrumentation.time("Point Layer", "render", points.size(), () -> {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            counts = null;
+            boolean dense = points.size() > DENSITY_LIMIT;
+            if (dense) {
+                drawDensity(width, height, points);
+            }
+
+            Graphics2D g2d = image.createGraphics();
+            try {
+                if (!dense) {
+                    drawDetail(g2d, points);
+                } else if (segmentColor != null) {
+                    drawSegments(g2d, points);
+                }
+            } finally {
+                g2d.dispose();
+            }
+        });
+    }
+
+    private void append(List<Point2D> points, int from) {
+        Instrumentation.time("Point Layer", "append", points.size() - from, () -> {
+            if (points.size() > DENSITY_LIMIT) {
+                addDensity(points, from);
+                return;
+            }
+            Graphics2D g2d = image.createGraphics();
+            try {
+                Rectangle dirty = dirtyBounds(g2d, points, from);
+                g2d.clip(dirty);
+                g2d.setComposite(AlphaComposite.Clear);
+                g2d.fill(dirty);
+                g2d.setComposite(AlphaComposite.SrcOver);
+                drawDetail(g2d, points);
+            } finally {
+                g2d.dispose();
+            }
+        });
+    }
+
+    /**
+     * Bounds of everything points {@code from} onwards add: their dots, their
+     * labels and the segments they end. Redrawing the whole layer clipped to it
+     * keeps labels under segments and segments under dots.
+     */
+    private Rectangle dirtyBounds(Graphics2D g2d, List<Point2D> points, int from) {
+        if (segmentColor != null) {
+            from -= from % 2;
+        }
+        boolean labelled = points.size() <= LABEL_LIMIT;
+        FontMetrics metrics = g2d.getFontMetrics();
+        Rectangle dirty = null;
+        for (int i = from; i < points.size(); i++) {
+            int x = (int) points.get(i).getX();
+            int y = (int) points.get(i).getY();
+            Rectangle bounds = new Rectangle(x - POINT_SIZE, y - POINT_SIZE, 2 * POINT_SIZE, 2 * POINT_SIZE);
+            if (labelled) {
+                Rectangle label = metrics.getStringBounds("(" + x + ", " + y + ")", g2d).getBounds();
+                label.translate(x + labelOffset, y - labelOffset);
+                label.grow(1, 1);
+                bounds.add(label);
+            }
+            dirty = dirty == null ? bounds : dirty.union(bounds);
+        }
+        return dirty;
+    }
+
+    private void drawDetail(Graphics2D g2d, List<Point2D> points) {
+        if (points.size() <= LABEL_LIMIT) {
+            g2d.setColor(labelColor);
+            for (Point2D point : points) {
+                int x = (int) point.getX();
+                int y = (int) point.getY();
+                g2d.drawString("(" + x + ", " + y + ")", x + labelOffset, y - labelOffset);
+            }
+        }
+
+        if (segmentColor != null) {
+            drawSegments(g2d, points);
+        }
+
+        g2d.setColor(pointColor);
+        for (Point2D point : points) {
+            g2d.fillOval((int) point.getX() - POINT_SIZE / 2, (int) point.getY() - POINT_SIZE / 2, POINT_SIZE, POINT_SIZE);
+        }
+    }
+
+    /**
+     * Draws each segment with drawLine rather than as one path: a path is
+     * rasterized differently once clipped, and {@link #append} redraws clipped.
+     */
+    private void drawSegments(Graphics2D g2d, List<Point2D> points) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.setColor(segmentColor);
+        for (int i = 0; i < points.size() - 1; i += 2) {
+            Point2D start = points.get(i);
+            Point2D end = points.get(i + 1);
+            g2d.drawLine((int) start.getX(), (int) start.getY(), (int) end.getX(), (int) end.getY());
+        }
+    }
+
+    /**
+     * Counts points per pixel and colours each non-empty pixel on a log scale
+     * from blue (one point) through green and yellow to red (the busiest pixel).
+     * The counts are kept for {@link #addDensity}.
+     */
+    private void drawDensity(int width, int height, List<Point2D> points) {
+        counts = new int[width * height];
+        maxCount = 0;
+        count(points, 0);
+        recolour();
+    }
+
+    /**
+     * Adds points {@code from} onwards to the heat map. Only their pixels are
+     * recoloured, unless the busiest pixel changed and with it the scale.
+     */
+    private void addDensity(List<Point2D> points, int from) {
+        int previousMax = maxCount;
+        count(points, from);
+        if (maxCount != previousMax) {
+            recolour();
+            return;
+        }
+        int width = image.getWidth();
+        double scale = 1 / Math.log1p(maxCount);
+        for (int i = from; i < points.size(); i++) {
+            int x = (int) points.get(i).getX();
+            int y = (int) points.get(i).getY();
+            if (x >= 0 && x < width && y >= 0 && y < image.getHeight()) {
+                image.setRGB(x, y, colour(counts[y * width + x], scale));
+            }
+        }
+    }
+
+    private void count(List<Point2D> points, int from) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        for (int i = from; i < points.size(); i++) {
+            int x = (int) points.get(i).getX();
+            int y = (int) points.get(i).getY();
+            if (x >= 0 && x < width && y >= 0 && y < height) {
+                maxCount = Math.max(maxCount, ++counts[y * width + x]);
+            }
+        }
+    }
+
+    private void recolour() {
+        if (maxCount == 0) {
+            return;
+        }
+        double scale = 1 / Math.log1p(maxCount);
+        int[] pixels = new int[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            pixels[i] = colour(counts[i], scale);
+        }
+        image.setRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
+    }
+
+    private static int colour(int count, double scale) {
+        return count > 0 ? PALETTE[(int) (255 * Math.log1p(count) * scale)] : 0;
+    }
+
+    private static int heat(double t) {
+        float hue = (float) (2.0 / 3.0 * (1 - t));
+        return 0xFF000000 | Color.HSBtoRGB(hue, 1f, 1f);
+    }
+}
@@ -0,0 +1,6 @@
+import java.awt.geom.Point2D;
+
+public interface PointListener {
+    void pointAdded(Point2D point);
+    void pointsCleared();
+}
@@ -0,0 +1,159 @@
+import java.awt.geom.Point2D;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Append-only point set with one writer and any number of readers. Points are
+ * copied into fixed-size chunks; the chunk array, the size and the version
+ * are published together as one immutable {@link Snapshot} through a volatile
+ * field. The writer fills slots beyond the published size and then publishes a
+ * new snapshot, so appends take no lock and readers get a consistent, immutable
+ * view with a single volatile read, however many points are added after it.
+ *
+ * Only the chunk array is copied when it fills up, and {@link #clear()} starts
+ * a fresh one rather than reusing chunks older snapshots still reference.
+ *
+ * All mutators must be called from the same thread, in the UI that is the EDT;
+ * {@link #snapshot()} and {@link #getVersion()} may be called from any thread.
+ */
+public class PointStore {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final List<PointListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot current = new Snapshot(new Point2D[0][], 0, 0, 0);
+
+    /** The points as of the last completed append or clear. */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public long getVersion() {
+        return current.version;
+    }
+
+    public int size() {
+        return current.size;
+    }
+
+    public void addPoint(Point2D point) {
+        Snapshot snapshot = current;
+        Point2D[][] chunks = append(snapshot.chunks, snapshot.size, point);
+        current = new Snapshot(chunks, snapshot.size + 1, snapshot.version + 1, snapshot.generation);
+        for (PointListener listener : listeners) {
+            listener.pointAdded(point);
+        }
+    }
+
+    /** Appends every point and publishes them as a single new version. */
+    public void addPoints(Collection<? extends Point2D> newPoints) {
+        Snapshot snapshot = current;
+        Point2D[][] chunks = snapshot.chunks;
+        int size = snapshot.size;
+        for (Point2D point : newPoints) {
+            chunks = append(chunks, size++, point);
+        }
+        current = new Snapshot(chunks, size, snapshot.version + 1, snapshot.generation);
+        for (PointListener listener : listeners) {
+            for (Point2D point : newPoints) {
+                listener.pointAdded(point);
+            }
+        }
+    }
+
+    public void clear() {
+        Snapshot snapshot = current;
+        current = new Snapshot(new Point2D[0][], 0, snapshot.version + 1, snapshot.generation + 1);
+        for (PointListener listener : listeners) {
+            listener.pointsCleared();
+        }
+    }
+
+    public void addListener(PointListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(PointListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Writes a copy of {@code point} to slot {@code index}, which no published
+     * snapshot covers yet, growing the chunk array if needed.
+     */
+    private static Point2D[][] append(Point2D[][] chunks, int index, Point2D point) {
+        int chunk = index >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length * 2));
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new Point2D[CHUNK_SIZE];
+        }
+        chunks[chunk][index & CHUNK_MASK] = new Point2D.Double(point.getX(), point.getY());
+        return chunks;
+    }
+
+    /**
+     * An immutable, read-only view of the store at one version. The points are
+     * the store's own copies and must not be modified.
+     */
+    public static final class Snapshot extends AbstractList<Point2D> implements RandomAccess {
+        private final Point2D[][] chunks;
+        private final int size;
+        private final long version;
+        private final long generation;
+
+        private Snapshot(Point2D[][] chunks, int size, long version, long generation) {
+            this.chunks = chunks;
+            this.size = size;
+            this.version = version;
+            this.generation = generation;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Counts the clears so far. Snapshots of one generation only differ by
+         * points appended at the end.
+         */
+        public long getGeneration() {
+            return generation;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Point2D get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+
+        public double[] xs() {
+            double[] xs = new double[size];
+            for (int i = 0; i < size; i++) {
+                xs[i] = chunks[i >>> CHUNK_BITS][i & CHUNK_MASK].getX();
+            }
+            return xs;
+        }
+
+        public double[] ys() {
+            double[] ys = new double[size];
+            for (int i = 0; i < size; i++) {
+                ys[i] = chunks[i >>> CHUNK_BITS][i & CHUNK_MASK].getY();
+            }
+            return ys;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.awt.geom.Point2D;
+import java.util.List;
+
+public class PreFilteredConvexHull implements ConvexHullAlgorithm {
+    private final ConvexHullAlgorithm algorithm;
+    private final AklToussaintFilter filter = new AklToussaintFilter();
+
+    public PreFilteredConvexHull(ConvexHullAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return algorithm.calculateConvexHull(inputPoints);
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int[] kept;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "pre-filter", xs.length)) {
+            kept = filter.filter(xs, ys);
+            phase.setResultSize(kept.length);
+        }
+        if (kept.length == xs.length) {
+            return algorithm.calculateConvexHull(xs, ys);
+        }
+
+        double[] keptXs = new double[kept.length];
+        double[] keptYs = new double[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            keptXs[i] = xs[kept[i]];
+            keptYs[i] = ys[kept[i]];
+        }
+
+        int[] hull = algorithm.calculateConvexHull(keptXs, keptYs);
+        for (int i = 0; i < hull.length; i++) {
+            hull[i] = kept[hull[i]];
+        }
+        return hull;
+    }
+
+    public ConvexHullAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getEliminatedCount() {
+        return filter.getLastEliminated();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithm.getAlgorithmName() + " + Akl-Toussaint";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return algorithm.getTimeComplexity();
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return algorithm.getSpaceComplexity();
+    }
+}
@@ -1,153 +1,321 @@
-import javax.swing.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-public class QuickHullConvexHull extends JPanel implements ConvexHullAlgorithm{
-
-    private List<Point2D> points = new ArrayList<>();
-
-    public QuickHullConvexHull() {
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                points.add(e.getPoint());
-                repaint();
-            }
-        });
-    }
-
-    @Override
-    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
-        int n = inputPoints.size();
-        if (n < 3) {
-            return inputPoints;
-        }
-
-        List<Point2D> convexHull = new ArrayList<>();
-
-        Point2D leftmost = inputPoints.get(0);
-        Point2D rightmost = inputPoints.get(0);
-
-        for (Point2D point : inputPoints) {
-            if (point.getX() < leftmost.getX()) {
-                leftmost = point;
-            }
-            if (point.getX() > rightmost.getX()) {
-                rightmost = point;
-            }
-        }
-
-        convexHull.add(leftmost);
-        convexHull.add(rightmost);
-
-        List<Point2D> upperSet = new ArrayList<>();
-        List<Point2D> lowerSet = new ArrayList<>();
-
-        for (Point2D point : inputPoints) {
-            if (point.equals(leftmost) || point.equals(rightmost)) {
-                continue;
-            }
-
-            if (orientation(leftmost, rightmost, point) > 0) {
-                upperSet.add(point);
-            } else if (orientation(leftmost, rightmost, point) < 0) {
-                lowerSet.add(point);
-            }
-        }
-
-        quickHull(upperSet, leftmost, rightmost, convexHull);
-        quickHull(lowerSet, rightmost, leftmost, convexHull);
-
-        writeConvexHullToFile(convexHull, "convex_hull_output.txt");
-        
-        return convexHull;
-    }
-
-    private void quickHull(List<Point2D> points, Point2D p1, Point2D p2, List<Point2D> convexHull) {
-        int insertPosition = convexHull.indexOf(p2);
-
-        if (points.isEmpty()) {
-            return;
-        }
-
-        if (points.size() == 1) {
-            convexHull.add(insertPosition, points.get(0));
-            return;
-        }
-
-        double maxDistance = -1;
-        Point2D farthestPoint = null;
-
-        for (Point2D point : points) {
-            double distance = distance(p1, p2, point);
-            if (distance > maxDistance) {
-                maxDistance = distance;
-                farthestPoint = point;
-            }
-        }
-
-        convexHull.add(insertPosition, farthestPoint);
-
-        List<Point2D> leftSetAP = new ArrayList<>();
-        List<Point2D> leftSetPB = new ArrayList<>();
-
-        for (Point2D point : points) {
-            if (point.equals(farthestPoint)) {
-                continue;
-            }
-
-            if (orientation(p1, farthestPoint, point) > 0) {
-                leftSetAP.add(point);
-            }
-
-            if (orientation(farthestPoint, p2, point) > 0) {
-                leftSetPB.add(point);
-            }
-        }
-
-        quickHull(leftSetAP, p1, farthestPoint, convexHull);
-        quickHull(leftSetPB, farthestPoint, p2, convexHull);
-    }
-
-    private double orientation(Point2D a, Point2D b, Point2D c) {
-        return (b.getY() - a.getY()) * (c.getX() - b.getX())
-                - (b.getX() - a.getX()) * (c.getY() - b.getY());
-    }
-
-    private double distance(Point2D a, Point2D b, Point2D c) {
-        return Math.abs((b.getY() - a.getY()) * c.getX() + (a.getX() - b.getX()) * c.getY() + (b.getX() * a.getY() - a.getX() * b.getY()))
-                / Math.sqrt(Math.pow(b.getY() - a.getY(), 2) + Math.pow(a.getX() - b.getX(), 2));
-    }
-
-    private void writeConvexHullToFile(List<Point2D> convexHull, String filename) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Point2D point : convexHull) {
-                writer.write(point.getX() + " , " + point.getY());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @Override
-    public String getAlgorithmName() {
-        return "Quick Hull";
-    }
-
-    @Override
-    public String getTimeComplexity() {
-        return "O(n log n)"; 
-    }
-
-    @Override
-    public String getSpaceComplexity() {
-        return "O(n)"; 
-    }
+import javax.swing.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+
+public class QuickHullConvexHull extends JPanel implements ConvexHullAlgorithm{
+
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int PARALLEL_PARTITION_THRESHOLD = 1 << 17;
+    private static final int PARTITION_CHUNK = 1 << 15;
+
+    private List<Point2D> points = new ArrayList<>();
+    private final boolean parallel;
+
+    public QuickHullConvexHull() {
+        this(false);
+    }
+
+    public QuickHullConvexHull(boolean parallel) {
+        this.parallel = parallel;
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                points.add(e.getPoint());
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public List<Point2D> calculateConvexHull(List<Point2D> inputPoints) {
+        int n = inputPoints.size();
+        if (n < 3) {
+            return inputPoints;
+        }
+
+        int[] hull = calculateConvexHull(PointArrays.xs(inputPoints), PointArrays.ys(inputPoints));
+        List<Point2D> convexHull = PointArrays.select(inputPoints, hull);
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+        
+        return convexHull;
+    }
+
+    @Override
+    public int[] calculateConvexHull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            return PointArrays.identity(n);
+        }
+
+        int leftmost = extreme(xs, ys, 0, n, -1);
+        int rightmost = extreme(xs, ys, 0, n, 1);
+        if (leftmost == rightmost) {
+            return new int[] { leftmost };
+        }
+
+        int[] buffer = new int[n - 2];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (i != leftmost && i != rightmost) {
+                buffer[size++] = i;
+            }
+        }
+
+        HullContext context = new HullContext(xs, ys, buffer, new int[n]);
+        int[] convexHull = new int[n];
+        int hullSize = 0;
+        int vertex = leftmost;
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "partition", n)) {
+            long counts = context.partition(0, size, leftmost, rightmost, leftmost);
+            int lowerCount = (int) (counts >>> 32);
+            int upperCount = (int) counts;
+
+            // Each task links the hull right of its edge, so the walk below runs
+            // counterclockwise: the lower chain to rightmost, the upper one back.
+            HullTask lower = new HullTask(context, leftmost, rightmost, 0, lowerCount);
+            HullTask upper = new HullTask(context, rightmost, leftmost, lowerCount, lowerCount + upperCount);
+            if (parallel) {
+                Cancellation.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(lower, upper);
+                    }
+                });
+            } else {
+                lower.compute();
+                upper.compute();
+            }
+
+            do {
+                convexHull[hullSize++] = vertex;
+                vertex = context.next[vertex];
+            } while (vertex != leftmost);
+            phase.setResultSize(hullSize);
+        }
+
+        return Arrays.copyOf(convexHull, hullSize);
+    }
+
+    private int extreme(double[] xs, double[] ys, int from, int to, int direction) {
+        IntBinaryOperator pick = (a, b) -> {
+            double dx = (xs[b] - xs[a]) * direction;
+            double dy = (ys[b] - ys[a]) * direction;
+            return (dx > 0 || (dx == 0 && dy > 0)) ? b : a;
+        };
+        if (parallel && to - from >= PARALLEL_PARTITION_THRESHOLD) {
+            return IntStream.range(from, to).parallel().reduce(pick).getAsInt();
+        }
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            best = pick.applyAsInt(best, i);
+        }
+        return best;
+    }
+
+    /**
+     * Shared state for one run. Every task owns a disjoint slice of
+     * {@code buffer} (and the same slice of {@code scratch}) and writes
+     * {@code next} only for the hull vertices it emits, so the linked hull is
+     * assembled without locks and without shifting elements.
+     */
+    private final class HullContext {
+        final double[] xs;
+        final double[] ys;
+        final int[] buffer;
+        final int[] scratch;
+        final int[] next;
+        final Thread owner = Thread.currentThread();
+
+        HullContext(double[] xs, double[] ys, int[] buffer, int[] next) {
+            this.xs = xs;
+            this.ys = ys;
+            this.buffer = buffer;
+            this.scratch = parallel ? new int[buffer.length] : null;
+            this.next = next;
+        }
+
+        int farthest(int from, int to, int p1, int p2) {
+            IntBinaryOperator pick = (i, j) -> farther(p1, p2, buffer[i], buffer[j]) ? j : i;
+            int best = from;
+            if (parallel && to - from >= PARALLEL_PARTITION_THRESHOLD) {
+                best = IntStream.range(from, to).parallel().reduce(pick).getAsInt();
+            } else {
+                for (int i = from + 1; i < to; i++) {
+                    best = pick.applyAsInt(best, i);
+                }
+            }
+            return buffer[best];
+        }
+
+        /**
+         * Whether b lies farther right of p1->p2 than a, or as far and further
+         * along it. Both differences are signs of exact cross products, so the
+         * winner is always a hull vertex: (p2 - p1) x (b - a) for the distance,
+         * and the same with p1->p2 turned a quarter clockwise for the projection.
+         */
+        private boolean farther(int p1, int p2, int a, int b) {
+            int distance = Orientation.cross(xs[p1], ys[p1], xs[p2], ys[p2], xs[a], ys[a], xs[b], ys[b]);
+            if (distance != Orientation.COLLINEAR) {
+                return distance == Orientation.CLOCKWISE;
+            }
+            return Orientation.cross(ys[p1], -xs[p1], ys[p2], -xs[p2], xs[a], ys[a], xs[b], ys[b])
+                    == Orientation.COUNTERCLOCKWISE;
+        }
+
+        /**
+         * Reorders {@code buffer[from, to)} so the points right of p1->p3 come
+         * first, followed by the points right of p3->p2. Returns both counts
+         * packed as (first << 32) | second; everything after them is discarded.
+         */
+        long partition(int from, int to, int p1, int p3, int p2) {
+            if (!parallel || to - from < PARALLEL_PARTITION_THRESHOLD) {
+                return partitionRange(from, to, p1, p3, p2);
+            }
+
+            int chunks = (to - from + PARTITION_CHUNK - 1) / PARTITION_CHUNK;
+            long[] counts = new long[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = from + chunk * PARTITION_CHUNK;
+                counts[chunk] = partitionRange(start, Math.min(to, start + PARTITION_CHUNK), p1, p3, p2);
+            });
+
+            int[] firstOffsets = new int[chunks];
+            int[] secondOffsets = new int[chunks];
+            int firstTotal = 0;
+            int secondTotal = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                firstOffsets[chunk] = firstTotal;
+                secondOffsets[chunk] = secondTotal;
+                firstTotal += (int) (counts[chunk] >>> 32);
+                secondTotal += (int) counts[chunk];
+            }
+
+            int first = firstTotal;
+            int kept = firstTotal + secondTotal;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = from + chunk * PARTITION_CHUNK;
+                int firstCount = (int) (counts[chunk] >>> 32);
+                int secondCount = (int) counts[chunk];
+                System.arraycopy(buffer, start, scratch, from + firstOffsets[chunk], firstCount);
+                System.arraycopy(buffer, start + firstCount, scratch, from + first + secondOffsets[chunk], secondCount);
+            });
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int start = from + chunk * PARTITION_CHUNK;
+                int end = Math.min(from + kept, start + PARTITION_CHUNK);
+                if (start < end) {
+                    System.arraycopy(scratch, start, buffer, start, end - start);
+                }
+            });
+
+            return ((long) firstTotal << 32) | secondTotal;
+        }
+
+        private long partitionRange(int from, int to, int p1, int p3, int p2) {
+            int firstEnd = from;
+            for (int i = from; i < to; i++) {
+                if (((i - from) & Cancellation.INTERVAL_MASK) == 0) {
+                    Cancellation.check(owner);
+                }
+                if (Orientation.orient(xs, ys, p1, p3, buffer[i]) == Orientation.CLOCKWISE) {
+                    swap(firstEnd++, i);
+                }
+            }
+            int secondEnd = firstEnd;
+            for (int i = firstEnd; i < to; i++) {
+                if (Orientation.orient(xs, ys, p3, p2, buffer[i]) == Orientation.CLOCKWISE) {
+                    swap(secondEnd++, i);
+                }
+            }
+            return ((long) (firstEnd - from) << 32) | (secondEnd - firstEnd);
+        }
+
+        private void swap(int i, int j) {
+            int point = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = point;
+        }
+    }
+
+    private final class HullTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final HullContext context;
+        private final int p1;
+        private final int p2;
+        private final int from;
+        private final int to;
+
+        HullTask(HullContext context, int p1, int p2, int from, int to) {
+            this.context = context;
+            this.p1 = p1;
+            this.p2 = p2;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            Cancellation.check(context.owner);
+            int[] next = context.next;
+            if (from == to) {
+                next[p1] = p2;
+                if (StepTrace.ENABLED) {
+                    StepTrace.record(StepTrace.EDGE, p1, p2);
+                }
+                return;
+            }
+
+            if (to - from == 1) {
+                int point = context.buffer[from];
+                next[p1] = point;
+                next[point] = p2;
+                if (StepTrace.ENABLED) {
+                    StepTrace.record(StepTrace.SPLIT, p1, p2, point);
+                    StepTrace.record(StepTrace.EDGE, p1, point);
+                    StepTrace.record(StepTrace.EDGE, point, p2);
+                }
+                return;
+            }
+
+            int farthestPoint = context.farthest(from, to, p1, p2);
+            if (StepTrace.ENABLED) {
+                StepTrace.record(StepTrace.SPLIT, p1, p2, farthestPoint);
+            }
+            long counts = context.partition(from, to, p1, farthestPoint, p2);
+            int middle = from + (int) (counts >>> 32);
+            int end = middle + (int) counts;
+
+            HullTask rightSetAP = new HullTask(context, p1, farthestPoint, from, middle);
+            HullTask rightSetPB = new HullTask(context, farthestPoint, p2, middle, end);
+            if (parallel && to - from >= SEQUENTIAL_THRESHOLD) {
+                invokeAll(rightSetAP, rightSetPB);
+            } else {
+                rightSetAP.compute();
+                rightSetPB.compute();
+            }
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return parallel ? "Parallel Quick Hull" : "Quick Hull";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n)"; 
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)"; 
+    }
 }
\ No newline at end of file
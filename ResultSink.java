@@ -0,0 +1,35 @@
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.List;
+
+/**
+ * Destination for algorithm results. A write replaces whatever the target
+ * previously held; callers must not modify the records list afterwards, since
+ * asynchronous sinks read it later.
+ */
+public interface ResultSink {
+
+    interface RecordFormat<T> {
+        void format(T record, StringBuilder out);
+    }
+
+    RecordFormat<Point2D> HULL_POINTS = (point, out) -> out.append(point.getX()).append(" , ").append(point.getY());
+    RecordFormat<Line2D> INTERSECTION_POINTS = (line, out) -> out.append(line.getX1()).append(' ').append(line.getY1());
+    RecordFormat<Line2D> SEGMENTS = (line, out) -> out.append(line.getX1()).append(' ').append(line.getY1())
+            .append(' ').append(line.getX2()).append(' ').append(line.getY2());
+
+    ResultSink NONE = new ResultSink() {
+        @Override
+        public <T> void write(String target, List<T> records, RecordFormat<T> format) {
+        }
+    };
+
+    <T> void write(String target, List<T> records, RecordFormat<T> format);
+
+    default void flush() {
+    }
+
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Holds the sink every algorithm writes its result to. Selected with
+ * -Dgeometry.output=async (default), sync or none and created on first use, so
+ * a program that installs its own sink first never starts the asynchronous
+ * writer. Replacing the sink closes the previous one, which flushes its pending
+ * writes; the current sink is closed when the JVM exits.
+ */
+public final class ResultSinks {
+    private static volatile ResultSink current;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ResultSink sink = current;
+            if (sink != null) {
+                sink.close();
+            }
+        }));
+    }
+
+    private ResultSinks() {
+    }
+
+    public static ResultSink current() {
+        ResultSink sink = current;
+        return sink != null ? sink : createDefault();
+    }
+
+    public static void setCurrent(ResultSink sink) {
+        ResultSink previous;
+        synchronized (ResultSinks.class) {
+            previous = current;
+            current = sink;
+        }
+        if (previous != null && previous != sink) {
+            previous.close();
+        }
+    }
+
+    private static synchronized ResultSink createDefault() {
+        if (current == null) {
+            current = create(System.getProperty("geometry.output", "async"));
+        }
+        return current;
+    }
+
+    public static ResultSink create(String mode) {
+        switch (mode) {
+            case "none":
+                return ResultSink.NONE;
+            case "sync":
+                return new FileResultSink();
+            case "async":
+                return new AsyncResultSink(new FileResultSink());
+            default:
+                throw new IllegalArgumentException("Unknown output mode: " + mode);
+        }
+    }
+}
@@ -1,15 +1,43 @@
-import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.List;
-
-public class SharedData {
-    private static List<Point2D> points = new ArrayList<>();
-
-    public static List<Point2D> getPoints() {
-        return points;
-    }
-
-    public static void addPoint(Point2D point) {
-        points.add(point);
-    }
-}
\ No newline at end of file
+import java.awt.geom.Point2D;
+import java.util.Collection;
+
+/**
+ * The point set the pages share, held in one application-wide
+ * {@link PointStore}. Points are added from the EDT; algorithms work on
+ * {@link #snapshot()}s, which later additions never change.
+ */
+public class SharedData {
+    private static final PointStore store = new PointStore();
+
+    public static PointStore getStore() {
+        return store;
+    }
+
+    public static PointStore.Snapshot snapshot() {
+        return store.snapshot();
+    }
+
+    public static void addPoint(Point2D point) {
+        store.addPoint(point);
+    }
+
+    public static void addPoints(Collection<? extends Point2D> newPoints) {
+        store.addPoints(newPoints);
+    }
+
+    public static void clear() {
+        store.clear();
+    }
+
+    public static long getVersion() {
+        return store.getVersion();
+    }
+
+    public static void addListener(PointListener listener) {
+        store.addListener(listener);
+    }
+
+    public static void removeListener(PointListener listener) {
+        store.removeListener(listener);
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the individual steps of an algorithm (stack pushes and pops, wrap
+ * steps, splits, reported pairs) into a preallocated ring buffer so a run on
+ * real data can be replayed afterwards at UI speed. Each step is four ints; the
+ * buffer keeps the most recent {@code -Dgeometry.trace.capacity} of them
+ * (default 2^20) and older steps are overwritten.
+ *
+ * Tracing is off unless the JVM runs with -Dgeometry.trace=true. Call sites
+ * guard every hook with the {@link #ENABLED} constant,
+ *
+ * <pre>
+ * if (StepTrace.ENABLED) {
+ *     StepTrace.record(StepTrace.PUSH, point);
+ * }
+ * </pre>
+ *
+ * so with tracing off the JIT folds the branch and its argument loads away.
+ * There is one trace per JVM: {@link #clear()} before a run and
+ * {@link #snapshot()} after it, with no other traced run in between.
+ */
+public final class StepTrace {
+    public static final boolean ENABLED = Boolean.getBoolean("geometry.trace");
+    public static final int CAPACITY = Integer.highestOneBit(Math.max(1, Integer.getInteger("geometry.trace.capacity", 1 << 20)));
+
+    /** Point {@code a} pushed onto the hull stack. */
+    public static final int PUSH = 1;
+    /** Point {@code a} popped from the hull stack. */
+    public static final int POP = 2;
+    /** The region right of {@code a -> b} split at its farthest point {@code c}. */
+    public static final int SPLIT = 3;
+    /** Hull edge from {@code a} to {@code b} confirmed. */
+    public static final int EDGE = 4;
+    /** Segments {@code a} and {@code b} reported as intersecting. */
+    public static final int PAIR = 5;
+
+    private static final int STRIDE = 4;
+
+    private static final int[] STEPS = ENABLED ? new int[CAPACITY * STRIDE] : new int[0];
+    private static final AtomicLong CURSOR = new AtomicLong();
+
+    private StepTrace() {
+    }
+
+    public static void record(int kind, int a) {
+        record(kind, a, -1, -1);
+    }
+
+    public static void record(int kind, int a, int b) {
+        record(kind, a, b, -1);
+    }
+
+    public static void record(int kind, int a, int b, int c) {
+        if (!ENABLED) {
+            return;
+        }
+        int slot = (int) (CURSOR.getAndIncrement() & (CAPACITY - 1)) * STRIDE;
+        STEPS[slot] = kind;
+        STEPS[slot + 1] = a;
+        STEPS[slot + 2] = b;
+        STEPS[slot + 3] = c;
+    }
+
+    public static void clear() {
+        CURSOR.set(0);
+    }
+
+    /**
+     * Copies the retained steps out, oldest first. Only meaningful once the
+     * traced run has finished.
+     */
+    public static Recording snapshot() {
+        long total = CURSOR.get();
+        int size = (int) Math.min(total, ENABLED ? CAPACITY : 0);
+        int[] steps = new int[size * STRIDE];
+        int start = (int) ((total - size) & (CAPACITY - 1));
+        int head = Math.min(size, CAPACITY - start);
+        System.arraycopy(STEPS, start * STRIDE, steps, 0, head * STRIDE);
+        System.arraycopy(STEPS, 0, steps, head * STRIDE, (size - head) * STRIDE);
+        return new Recording(steps, total - size);
+    }
+
+    /** An immutable copy of the trace. */
+    public static final class Recording {
+        private final int[] steps;
+        private final long dropped;
+
+        private Recording(int[] steps, long dropped) {
+            this.steps = steps;
+            this.dropped = dropped;
+        }
+
+        public int size() {
+            return steps.length / STRIDE;
+        }
+
+        /** Steps that were overwritten before the snapshot was taken. */
+        public long getDropped() {
+            return dropped;
+        }
+
+        public int kind(int step) {
+            return steps[step * STRIDE];
+        }
+
+        public int a(int step) {
+            return steps[step * STRIDE + 1];
+        }
+
+        public int b(int step) {
+            return steps[step * STRIDE + 2];
+        }
+
+        public int c(int step) {
+            return steps[step * STRIDE + 3];
+        }
+    }
+}
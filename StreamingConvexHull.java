@@ -0,0 +1,151 @@
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Hull of an input too large to hold at once. Points arrive in fixed-size
+ * chunks; each chunk is hulled together with the running hull by the wrapped
+ * algorithm, and only the result is kept. Memory stays O(chunk + h) however
+ * many points are consumed.
+ */
+public class StreamingConvexHull {
+
+    public interface ProgressListener {
+        void progress(long pointsConsumed, double pointsPerSecond);
+    }
+
+    private interface ChunkSource {
+        int read(double[] xs, double[] ys) throws IOException;
+    }
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final ConvexHullAlgorithm algorithm;
+    private final int chunkSize;
+    private ProgressListener progressListener = (consumed, rate) -> { };
+
+    public StreamingConvexHull(ConvexHullAlgorithm algorithm, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.algorithm = algorithm;
+        this.chunkSize = chunkSize;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public List<Point2D> calculateConvexHull(Iterator<Point2D> points) {
+        try {
+            return calculateConvexHull((xs, ys) -> {
+                int count = 0;
+                while (count < xs.length && points.hasNext()) {
+                    Point2D point = points.next();
+                    xs[count] = point.getX();
+                    ys[count] = point.getY();
+                    count++;
+                }
+                return count == 0 ? -1 : count;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams a binary {@link PointFile} window by window, or a text file of
+     * "x , y" lines one line at a time.
+     */
+    public List<Point2D> calculateConvexHull(Path path) throws IOException {
+        if (PointFile.isPointFile(path)) {
+            try (PointFile.ChunkReader reader = PointFile.openPoints(path)) {
+                return calculateConvexHull(reader::read);
+            }
+        }
+        try (Stream<String> lines = Files.lines(path)) {
+            Iterator<Point2D> points = lines
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(StreamingConvexHull::parsePoint)
+                    .iterator();
+            return calculateConvexHull(points);
+        }
+    }
+
+    private List<Point2D> calculateConvexHull(ChunkSource source) throws IOException {
+        double[] xs = new double[chunkSize];
+        double[] ys = new double[chunkSize];
+        double[] hullXs = new double[0];
+        double[] hullYs = new double[0];
+        long consumed = 0;
+        long startTime = System.nanoTime();
+
+        try (Instrumentation.Phase phase = Instrumentation.begin(getAlgorithmName(), "stream", 0)) {
+            int count;
+            while ((count = source.read(xs, ys)) > 0) {
+                Cancellation.check();
+                int h = hullXs.length;
+                double[] mergedXs = Arrays.copyOf(hullXs, h + count);
+                double[] mergedYs = Arrays.copyOf(hullYs, h + count);
+                System.arraycopy(xs, 0, mergedXs, h, count);
+                System.arraycopy(ys, 0, mergedYs, h, count);
+
+                int[] hull = algorithm.calculateConvexHull(mergedXs, mergedYs);
+                hullXs = new double[hull.length];
+                hullYs = new double[hull.length];
+                for (int i = 0; i < hull.length; i++) {
+                    hullXs[i] = mergedXs[hull[i]];
+                    hullYs[i] = mergedYs[hull[i]];
+                }
+
+                consumed += count;
+                double seconds = (System.nanoTime() - startTime) / 1e9;
+                progressListener.progress(consumed, seconds > 0 ? consumed / seconds : 0);
+            }
+            phase.setResultSize(hullXs.length);
+        }
+
+        List<Point2D> convexHull = new ArrayList<>(hullXs.length);
+        for (int i = 0; i < hullXs.length; i++) {
+            convexHull.add(new Point2D.Double(hullXs[i], hullYs[i]));
+        }
+
+        ResultSinks.current().write("convex_hull_output.txt", convexHull, ResultSink.HULL_POINTS);
+
+        return convexHull;
+    }
+
+    private static Point2D parsePoint(String line) {
+        String[] tokens = line.split("[\\s,]+");
+        if (tokens.length != 2) {
+            throw new IllegalArgumentException("Expected 2 coordinates, found " + tokens.length + ": " + line);
+        }
+        return new Point2D.Double(Double.parseDouble(tokens[0]), Double.parseDouble(tokens[1]));
+    }
+
+    public String getAlgorithmName() {
+        return algorithm.getAlgorithmName() + " (streaming)";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: java StreamingConvexHull <points file> [chunk size]");
+            System.exit(2);
+        }
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHUNK_SIZE;
+        StreamingConvexHull streaming = new StreamingConvexHull(ConvexHullAlgorithm.defaultAlgorithm(), chunkSize);
+        streaming.setProgressListener((consumed, rate) ->
+                System.err.printf("%,d points, %,.0f points/s%n", consumed, rate));
+
+        List<Point2D> hull = streaming.calculateConvexHull(Path.of(args[0]));
+        System.out.println("Hull has " + hull.size() + " points");
+    }
+}
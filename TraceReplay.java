@@ -0,0 +1,162 @@
+import javax.swing.Timer;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plays a {@link StepTrace.Recording} of a hull run back over the points it
+ * was recorded on: the Graham stack as it grows and shrinks, hull edges as they
+ * are confirmed and the QuickHull region being split. A Swing timer advances
+ * the replay so that any trace plays in about ten seconds.
+ */
+public class TraceReplay {
+    private static final int TICK_MILLIS = 20;
+    private static final int DURATION_MILLIS = 10_000;
+    private static final Stroke STACK_STROKE = new BasicStroke(2f);
+
+    private final Component target;
+    private final Consumer<String> statusListener;
+    private final Timer timer = new Timer(TICK_MILLIS, e -> advance());
+
+    private List<Point2D> points;
+    private StepTrace.Recording recording;
+    private int stepsPerTick;
+    private int position;
+    private int[] stack = new int[16];
+    private int top;
+    private int[] edges = new int[16];
+    private int edgeCount;
+    private int splitA = -1, splitB, splitC;
+
+    /**
+     * @param statusListener told the replay position after every tick, and an
+     *                       empty string once the replay is stopped
+     */
+    public TraceReplay(Component target, Consumer<String> statusListener) {
+        this.target = target;
+        this.statusListener = statusListener;
+    }
+
+    public void start(List<Point2D> points, StepTrace.Recording recording) {
+        stop();
+        this.points = points;
+        this.recording = recording;
+        stepsPerTick = Math.max(1, recording.size() / (DURATION_MILLIS / TICK_MILLIS));
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+        points = null;
+        recording = null;
+        position = 0;
+        top = 0;
+        edgeCount = 0;
+        splitA = -1;
+        statusListener.accept("");
+    }
+
+    /** Whether a replay is playing or holding its final frame. */
+    public boolean isActive() {
+        return recording != null;
+    }
+
+    private void advance() {
+        int end = Math.min(recording.size(), position + stepsPerTick);
+        for (; position < end; position++) {
+            apply(position);
+        }
+        if (position == recording.size()) {
+            timer.stop();
+        }
+        String status = String.format("step %,d of %,d", position, recording.size());
+        if (recording.getDropped() > 0) {
+            status += String.format(" (%,d earlier dropped)", recording.getDropped());
+        }
+        statusListener.accept(status);
+        target.repaint();
+    }
+
+    private void apply(int step) {
+        switch (recording.kind(step)) {
+            case StepTrace.PUSH:
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = recording.a(step);
+                break;
+            case StepTrace.POP:
+                top = Math.max(0, top - 1);
+                break;
+            case StepTrace.SPLIT:
+                splitA = recording.a(step);
+                splitB = recording.b(step);
+                splitC = recording.c(step);
+                break;
+            case StepTrace.EDGE:
+                if (edgeCount * 2 == edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                }
+                edges[edgeCount * 2] = recording.a(step);
+                edges[edgeCount * 2 + 1] = recording.b(step);
+                edgeCount++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void paint(Graphics2D g2d) {
+        if (recording == null) {
+            return;
+        }
+
+        if (splitA >= 0 && position < recording.size()) {
+            Path2D.Double triangle = new Path2D.Double();
+            moveTo(triangle, splitA);
+            lineTo(triangle, splitC);
+            lineTo(triangle, splitB);
+            triangle.closePath();
+            g2d.setColor(new Color(0, 0, 0, 40));
+            g2d.fill(triangle);
+        }
+
+        if (edgeCount > 0) {
+            Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, edgeCount * 2);
+            for (int i = 0; i < edgeCount; i++) {
+                moveTo(path, edges[i * 2]);
+                lineTo(path, edges[i * 2 + 1]);
+            }
+            g2d.setColor(Color.BLUE);
+            g2d.draw(path);
+        }
+
+        if (top > 0) {
+            Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, top);
+            moveTo(path, stack[0]);
+            for (int i = 1; i < top; i++) {
+                lineTo(path, stack[i]);
+            }
+            Stroke stroke = g2d.getStroke();
+            g2d.setStroke(STACK_STROKE);
+            g2d.setColor(position < recording.size() ? Color.ORANGE : Color.BLUE);
+            g2d.draw(path);
+            g2d.setStroke(stroke);
+        }
+    }
+
+    private void moveTo(Path2D path, int point) {
+        path.moveTo(points.get(point).getX(), points.get(point).getY());
+    }
+
+    private void lineTo(Path2D path, int point) {
+        path.lineTo(points.get(point).getX(), points.get(point).getY());
+    }
+}
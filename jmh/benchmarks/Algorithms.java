@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * The algorithms live in the unnamed package, which named packages cannot import,
+ * so benchmarks look them up by class name and bind a method handle once per trial.
+ */
+final class Algorithms {
+
+    private Algorithms() {
+    }
+
+    static Object create(String className, Object... arguments) {
+        try {
+            Class<?> type = Class.forName(className);
+            for (Constructor<?> constructor : type.getConstructors()) {
+                if (constructor.getParameterCount() == arguments.length) {
+                    return constructor.newInstance(arguments);
+                }
+            }
+            throw new IllegalArgumentException("No public constructor of " + className + " takes " + arguments.length + " arguments");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create " + className, e);
+        }
+    }
+
+    static Class<?> type(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Cannot load " + className, e);
+        }
+    }
+
+    static Object constant(String className, String fieldName) {
+        try {
+            return type(className).getField(fieldName).get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(className + " has no public constant " + fieldName, e);
+        }
+    }
+
+    static MethodHandle bind(Object target, String methodName, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(target.getClass(), methodName, type).bindTo(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(target.getClass().getName() + " has no public " + methodName + type, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Every point on the hull, for the algorithms that stay O(n log n) there.
+ * Brute force and Jarvis march are O(n^2) on this input and run in
+ * {@link WrappingCircleHullBenchmark} at smaller sizes.
+ */
+public class CircleHullBenchmark extends HullBenchmark {
+    @Param({"Graham Scan", "Quick Hull", "Parallel Quick Hull", "Monotone Chain", "Integer Monotone Chain",
+            "Chan's Algorithm", "Divide and Conquer", "Incremental", "Monotone Chain + Akl-Toussaint"})
+    private String algorithm;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int n;
+
+    @Override
+    protected String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected PointDistribution distribution() {
+        return PointDistribution.CIRCLE;
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Compares every ConvexHullAlgorithm over input size and point distribution.
+ * Run with {@code -prof gc} to get the allocation rate next to throughput and average time.
+ * Inputs with every point on the hull are in {@link CircleHullBenchmark} and
+ * {@link WrappingCircleHullBenchmark}.
+ */
+public class ConvexHullBenchmark extends HullBenchmark {
+    @Param({"Brute Force", "Jarvis March", "Graham Scan", "Quick Hull", "Parallel Quick Hull",
+            "Monotone Chain", "Integer Monotone Chain", "Chan's Algorithm", "Divide and Conquer", "Incremental",
+            "Monotone Chain + Akl-Toussaint"})
+    private String algorithm;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int n;
+
+    @Param({"UNIFORM_SQUARE", "UNIFORM_DISK", "GAUSSIAN_CLUSTERS", "INTEGER_GRID"})
+    private PointDistribution distribution;
+
+    @Override
+    protected String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected PointDistribution distribution() {
+        return distribution;
+    }
+}
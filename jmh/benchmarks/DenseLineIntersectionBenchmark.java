@@ -0,0 +1,31 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Dense input, where almost every pair of segments crosses. The output alone is
+ * Theta(n^2), so sizes stop at 5,000.
+ */
+public class DenseLineIntersectionBenchmark extends IntersectionBenchmark {
+    @Param({"AlgebraicLineIntersection", "CCWLineIntersection", "CCWLineIntersection(parallel)", "VectorLineIntersection",
+            "BentleyOttmannLineIntersection", "GridLineIntersection"})
+    private String algorithm;
+
+    @Param({"2", "100", "1000", "5000"})
+    private int n;
+
+    @Override
+    protected String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected SegmentDensity density() {
+        return SegmentDensity.DENSE;
+    }
+}
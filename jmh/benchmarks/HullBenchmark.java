@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shared setup for the convex hull benchmarks. Subclasses declare the
+ * algorithm, size and distribution parameters, each restricted to the
+ * combinations that can run, so no trial has to be skipped.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dgeometry.output=none"})
+@State(Scope.Thread)
+public abstract class HullBenchmark {
+    private static final long SEED = 42;
+    private static final MethodType HULL = MethodType.methodType(int[].class, double[].class, double[].class);
+
+    private MethodHandle calculateConvexHull;
+    private double[] sourceXs;
+    private double[] sourceYs;
+    private double[] xs;
+    private double[] ys;
+
+    protected abstract String algorithm();
+
+    protected abstract int n();
+
+    protected abstract PointDistribution distribution();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        calculateConvexHull = Algorithms.bind(createAlgorithm(algorithm()), "calculateConvexHull", HULL);
+        double[][] points = distribution().generate(n(), SEED);
+        sourceXs = points[0];
+        sourceYs = points[1];
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        xs = sourceXs.clone();
+        ys = sourceYs.clone();
+    }
+
+    @Benchmark
+    public int[] calculateConvexHull() throws Throwable {
+        return (int[]) calculateConvexHull.invokeExact(xs, ys);
+    }
+
+    static Object createAlgorithm(String name) {
+        switch (name) {
+            case "Brute Force":
+                return Algorithms.create("BruteForceConvexHull");
+            case "Jarvis March":
+                return Algorithms.create("JarvisMarchConvexHull");
+            case "Graham Scan":
+                return Algorithms.create("GrahamScanConvexHull");
+            case "Quick Hull":
+                return Algorithms.create("QuickHullConvexHull");
+            case "Parallel Quick Hull":
+                return Algorithms.create("QuickHullConvexHull", true);
+            case "Monotone Chain":
+                return Algorithms.create("MonotoneChainConvexHull");
+            case "Integer Monotone Chain":
+                return Algorithms.create("IntegerConvexHull");
+            case "Chan's Algorithm":
+                return Algorithms.create("ChanConvexHull");
+            case "Divide and Conquer":
+                return Algorithms.create("DivideConquerConvexHull");
+            case "Incremental":
+                return Algorithms.create("IncrementalConvexHull");
+            case "Monotone Chain + Akl-Toussaint":
+                return Algorithms.create("PreFilteredConvexHull", Algorithms.create("MonotoneChainConvexHull"));
+            default:
+                throw new IllegalArgumentException("Unknown convex hull algorithm: " + name);
+        }
+    }
+}
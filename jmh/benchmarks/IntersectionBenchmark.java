@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.awt.geom.Line2D;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shared setup for the line intersection benchmarks. Subclasses declare the
+ * engine, segment count and density parameters, each restricted to the
+ * combinations that can run.
+ * <p>
+ * New engines plug in by adding their class name to {@code algorithm}; a {@code (parallel)} suffix
+ * selects the engine's {@code boolean parallel} constructor. Forks run with {@code -Dgeometry.output=none},
+ * so the measurement excludes output. Each trial prints how many intersections one call reports;
+ * divide {@code gc.alloc.rate.norm} from {@code -prof gc} by it to get bytes allocated per intersection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dgeometry.output=none"})
+@State(Scope.Thread)
+public abstract class IntersectionBenchmark {
+    private static final long SEED = 42;
+    private static final MethodType CALCULATE = MethodType.methodType(List.class, List.class);
+    private static final String PARALLEL_SUFFIX = "(parallel)";
+
+    private MethodHandle calculateIntersections;
+    private List<Line2D> lines;
+
+    protected abstract String algorithm();
+
+    protected abstract int n();
+
+    protected abstract SegmentDensity density();
+
+    @Setup(Level.Trial)
+    public void generate() throws Throwable {
+        calculateIntersections = Algorithms.bind(createAlgorithm(algorithm()), "calculateIntersections", CALCULATE);
+        lines = density().generate(n(), SEED);
+        System.out.println(algorithm() + " reports " + calculate().size() + " intersections for " + n() + " "
+                + density() + " segments");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Line2D> calculate() throws Throwable {
+        return (List<Line2D>) calculateIntersections.invokeExact(lines);
+    }
+
+    @Benchmark
+    public List<Line2D> calculateIntersections() throws Throwable {
+        return calculate();
+    }
+
+    static Object createAlgorithm(String name) {
+        return name.endsWith(PARALLEL_SUFFIX)
+                ? Algorithms.create(name.substring(0, name.length() - PARALLEL_SUFFIX.length()), true)
+                : Algorithms.create(name);
+    }
+}
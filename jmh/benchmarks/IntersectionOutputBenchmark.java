@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.awt.geom.Line2D;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A synchronous FileResultSink write of the intersection points, which does not
+ * depend on the engine that found them. The intersections are computed once per
+ * trial with GridLineIntersection. Run it from a scratch directory: it writes
+ * {@code line_intersection_output.txt} to the working directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dgeometry.output=none"})
+@State(Scope.Thread)
+public class IntersectionOutputBenchmark {
+    private static final long SEED = 42;
+    private static final MethodType CALCULATE = MethodType.methodType(List.class, List.class);
+    private static final MethodType WRITE = MethodType.methodType(void.class, String.class, List.class,
+            Algorithms.type("ResultSink$RecordFormat"));
+    private static final String OUTPUT_FILE = "line_intersection_output.txt";
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int n;
+
+    @Param({"SPARSE", "MEDIUM"})
+    private SegmentDensity density;
+
+    private MethodHandle writeIntersectionsToFile;
+    private List<Line2D> intersections;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void generate() throws Throwable {
+        MethodHandle calculate = Algorithms.bind(Algorithms.create("GridLineIntersection"), "calculateIntersections", CALCULATE);
+        intersections = (List<Line2D>) calculate.invokeExact(density.generate(n, SEED));
+        writeIntersectionsToFile = MethodHandles.insertArguments(
+                Algorithms.bind(Algorithms.create("FileResultSink"), "write", WRITE),
+                2, Algorithms.constant("ResultSink", "INTERSECTION_POINTS"));
+        System.out.println("Writing " + intersections.size() + " intersections of " + n + " " + density + " segments");
+    }
+
+    @Benchmark
+    public void writeIntersectionsToFile() throws Throwable {
+        writeIntersectionsToFile.invokeExact(OUTPUT_FILE, intersections);
+    }
+}
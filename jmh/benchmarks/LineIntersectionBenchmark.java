@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Compares LineIntersectionAlgorithm implementations over segment count and density.
+ * Dense input reports Theta(n^2) intersections and runs in {@link DenseLineIntersectionBenchmark}
+ * at smaller sizes; writing the result is measured once in {@link IntersectionOutputBenchmark}.
+ */
+public class LineIntersectionBenchmark extends IntersectionBenchmark {
+    @Param({"AlgebraicLineIntersection", "CCWLineIntersection", "CCWLineIntersection(parallel)", "VectorLineIntersection",
+            "BentleyOttmannLineIntersection", "GridLineIntersection"})
+    private String algorithm;
+
+    @Param({"2", "100", "1000", "10000", "100000"})
+    private int n;
+
+    @Param({"SPARSE", "MEDIUM"})
+    private SegmentDensity density;
+
+    @Override
+    protected String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected SegmentDensity density() {
+        return density;
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.util.Random;
+
+public enum PointDistribution {
+    UNIFORM_SQUARE {
+        @Override
+        void fill(double[] xs, double[] ys, Random random) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = random.nextDouble() * EXTENT;
+                ys[i] = random.nextDouble() * EXTENT;
+            }
+        }
+    },
+    UNIFORM_DISK {
+        @Override
+        void fill(double[] xs, double[] ys, Random random) {
+            double radius = EXTENT / 2;
+            for (int i = 0; i < xs.length; i++) {
+                double r = radius * Math.sqrt(random.nextDouble());
+                double theta = random.nextDouble() * 2 * Math.PI;
+                xs[i] = radius + r * Math.cos(theta);
+                ys[i] = radius + r * Math.sin(theta);
+            }
+        }
+    },
+    CIRCLE {
+        @Override
+        void fill(double[] xs, double[] ys, Random random) {
+            double radius = EXTENT / 2;
+            for (int i = 0; i < xs.length; i++) {
+                double theta = random.nextDouble() * 2 * Math.PI;
+                xs[i] = radius + radius * Math.cos(theta);
+                ys[i] = radius + radius * Math.sin(theta);
+            }
+        }
+    },
+    GAUSSIAN_CLUSTERS {
+        @Override
+        void fill(double[] xs, double[] ys, Random random) {
+            double[] centerXs = new double[CLUSTERS];
+            double[] centerYs = new double[CLUSTERS];
+            for (int c = 0; c < CLUSTERS; c++) {
+                centerXs[c] = random.nextDouble() * EXTENT;
+                centerYs[c] = random.nextDouble() * EXTENT;
+            }
+            double sigma = EXTENT * 0.02;
+            for (int i = 0; i < xs.length; i++) {
+                int c = random.nextInt(CLUSTERS);
+                xs[i] = centerXs[c] + random.nextGaussian() * sigma;
+                ys[i] = centerYs[c] + random.nextGaussian() * sigma;
+            }
+        }
+    },
+    INTEGER_GRID {
+        @Override
+        void fill(double[] xs, double[] ys, Random random) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = random.nextInt((int) EXTENT);
+                ys[i] = random.nextInt((int) EXTENT);
+            }
+        }
+    };
+
+    static final double EXTENT = 1_000_000;
+    private static final int CLUSTERS = 8;
+
+    abstract void fill(double[] xs, double[] ys, Random random);
+
+    public double[][] generate(int n, long seed) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        fill(xs, ys, new Random(seed));
+        return new double[][] {xs, ys};
+    }
+}
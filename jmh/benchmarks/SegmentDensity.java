@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Segment sets whose expected intersection count grows as O(n), O(n^1.5) and Theta(n^2).
+ */
+public enum SegmentDensity {
+    SPARSE {
+        @Override
+        double length(int n) {
+            return EXTENT / Math.sqrt(n);
+        }
+    },
+    MEDIUM {
+        @Override
+        double length(int n) {
+            return EXTENT / Math.sqrt(Math.sqrt(n));
+        }
+    },
+    DENSE {
+        @Override
+        double length(int n) {
+            return EXTENT;
+        }
+
+        @Override
+        Line2D segment(int n, Random random) {
+            return new Line2D.Double(0, random.nextDouble() * EXTENT, EXTENT, random.nextDouble() * EXTENT);
+        }
+    };
+
+    static final double EXTENT = 1_000_000;
+
+    abstract double length(int n);
+
+    Line2D segment(int n, Random random) {
+        double length = length(n);
+        double x = random.nextDouble() * EXTENT;
+        double y = random.nextDouble() * EXTENT;
+        double theta = random.nextDouble() * Math.PI;
+        return new Line2D.Double(x, y, x + length * Math.cos(theta), y + length * Math.sin(theta));
+    }
+
+    public List<Line2D> generate(int n, long seed) {
+        Random random = new Random(seed);
+        List<Line2D> lines = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lines.add(segment(n, random));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the StepTrace hooks in the traced algorithms. {@code trace} sets
+ * -Dgeometry.trace in the fork before StepTrace is loaded, so both modes run
+ * the same build under the same harness settings and differ only in whether
+ * steps are recorded. Several forks with long iterations keep the difference
+ * above the fork-to-fork spread of the slowest algorithm, where a single
+ * operation takes over a second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(value = 3, jvmArgsAppend = {"-Xmx4g", "-Dgeometry.output=none"})
+@State(Scope.Thread)
+public class StepTraceBenchmark {
+    private static final long SEED = 42;
+    private static final MethodType HULL = MethodType.methodType(int[].class, double[].class, double[].class);
+
+    @Param({"Graham Scan", "Jarvis March", "Quick Hull"})
+    private String algorithm;
+
+    @Param({"1000000"})
+    private int n;
+
+    @Param({"UNIFORM_DISK"})
+    private PointDistribution distribution;
+
+    @Param({"false", "true"})
+    private boolean trace;
+
+    private MethodHandle calculateConvexHull;
+    private double[] sourceXs;
+    private double[] sourceYs;
+    private double[] xs;
+    private double[] ys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        System.setProperty("geometry.trace", String.valueOf(trace));
+        if ((Boolean) Algorithms.constant("StepTrace", "ENABLED") != trace) {
+            throw new IllegalStateException("StepTrace was loaded before the trace parameter was applied");
+        }
+        calculateConvexHull = Algorithms.bind(HullBenchmark.createAlgorithm(algorithm), "calculateConvexHull", HULL);
+        double[][] points = distribution.generate(n, SEED);
+        sourceXs = points[0];
+        sourceYs = points[1];
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        xs = sourceXs.clone();
+        ys = sourceYs.clone();
+    }
+
+    @Benchmark
+    public int[] calculateConvexHull() throws Throwable {
+        return (int[]) calculateConvexHull.invokeExact(xs, ys);
+    }
+}
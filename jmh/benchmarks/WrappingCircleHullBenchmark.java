@@ -0,0 +1,30 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * The gift-wrapping algorithms with every point on the hull, where they are
+ * O(n^2), so sizes stop at 100,000.
+ */
+public class WrappingCircleHullBenchmark extends HullBenchmark {
+    @Param({"Brute Force", "Jarvis March"})
+    private String algorithm;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int n;
+
+    @Override
+    protected String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected PointDistribution distribution() {
+        return PointDistribution.CIRCLE;
+    }
+}